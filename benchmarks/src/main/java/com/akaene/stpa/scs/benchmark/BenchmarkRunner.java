@@ -0,0 +1,24 @@
+package com.akaene.stpa.scs.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled, so that allocation rates are reported alongside throughput and
+ * average time.
+ * <p>
+ * All arguments are passed to JMH. When a profiler is specified explicitly, the GC profiler is not added.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        final List<String> jmhArgs = new ArrayList<>(List.of(args));
+        if (!jmhArgs.contains("-prof")) {
+            jmhArgs.add("-prof");
+            jmhArgs.add("gc");
+        }
+        Main.main(jmhArgs.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,73 @@
+package com.akaene.stpa.scs.benchmark;
+
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.parser.ControlStructureParsers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end parsing of the complex real-world models from the test resources as they are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComplexModelBenchmark {
+
+    private static final List<String> COMPLEX_MODEL_FILES = List.of("complex-model/model.xmi",
+                                                                    "complex-model/sysml.profile.xmi",
+                                                                    "complex-model/LocalProfile.profile.xmi");
+
+    @Param({"complex-model/model.xmi", "complex-model_EA.xml"})
+    public String model;
+
+    private Path workDir;
+
+    private File input;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.workDir = Files.createTempDirectory("scsparser-benchmark");
+        final List<String> files = COMPLEX_MODEL_FILES.contains(model) ? COMPLEX_MODEL_FILES : List.of(model);
+        for (String file : files) {
+            final String resource = "models/" + file;
+            try (final InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+                Files.copy(Objects.requireNonNull(in, "Missing benchmark resource " + resource),
+                           workDir.resolve(file.substring(file.lastIndexOf('/') + 1)));
+            }
+        }
+        this.input = workDir.resolve(model.substring(model.lastIndexOf('/') + 1)).toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ParserBenchmark.deleteDirectory(workDir);
+    }
+
+    @Benchmark
+    public Model parse() {
+        return ControlStructureParsers.parse(input);
+    }
+}
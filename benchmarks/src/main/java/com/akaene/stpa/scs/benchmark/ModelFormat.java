@@ -0,0 +1,70 @@
+package com.akaene.stpa.scs.benchmark;
+
+import java.util.List;
+
+/**
+ * Input formats exercised by the benchmarks.
+ * <p>
+ * Each format is based on a model from the parser test resources. Supporting files (e.g., profiles) are copied next to
+ * the generated model unchanged.
+ */
+public enum ModelFormat {
+
+    /**
+     * GraphML produced by yEd desktop, parsed by {@code GraphMLParser}.
+     */
+    GRAPHML_DESKTOP(Kind.GRAPHML, "model-with-subgraphs-yed-desktop.graphml", List.of(), false),
+    /**
+     * GraphML produced by yEd Live, parsed by {@code GraphMLParser}.
+     */
+    GRAPHML_LIVE(Kind.GRAPHML, "model-with-subgraphs-yed-live.graphml", List.of(), false),
+    /**
+     * Plain Modelio XMI, parsed by {@code EMFSysMLXMIParser}.
+     */
+    XMI(Kind.XMI, "simple-model/model.xmi",
+        List.of("simple-model/sysml.profile.xmi", "simple-model/LocalProfile.profile.xmi"), false),
+    /**
+     * ZIP archive with Modelio XMI and profiles, parsed by {@code UnzippingSysMLXMIParser}.
+     */
+    ZIP(Kind.XMI, "simple-model/model.xmi",
+        List.of("simple-model/sysml.profile.xmi", "simple-model/LocalProfile.profile.xmi"), true),
+    /**
+     * Enterprise Architect XMI export, parsed by {@code EnterpriseArchitectSysMLXMIParser}.
+     */
+    EA(Kind.XMI, "simple-model_EA.xml", List.of(), false);
+
+    enum Kind {
+        GRAPHML, XMI
+    }
+
+    private final Kind kind;
+
+    private final String model;
+
+    private final List<String> supportingFiles;
+
+    private final boolean zipped;
+
+    ModelFormat(Kind kind, String model, List<String> supportingFiles, boolean zipped) {
+        this.kind = kind;
+        this.model = model;
+        this.supportingFiles = supportingFiles;
+        this.zipped = zipped;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    String getModel() {
+        return model;
+    }
+
+    List<String> getSupportingFiles() {
+        return supportingFiles;
+    }
+
+    boolean isZipped() {
+        return zipped;
+    }
+}
@@ -0,0 +1,70 @@
+package com.akaene.stpa.scs.benchmark;
+
+import com.akaene.stpa.scs.io.ModelReader;
+import com.akaene.stpa.scs.io.ModelWriter;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.parser.ControlStructureParsers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading of the complex real-world model stored by {@link ModelWriter}, to be compared with
+ * {@link ComplexModelBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelReaderBenchmark {
+
+    private static final List<String> COMPLEX_MODEL_FILES = List.of("model.xmi", "sysml.profile.xmi",
+                                                                    "LocalProfile.profile.xmi");
+
+    private Path workDir;
+
+    private Path serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.workDir = Files.createTempDirectory("scsparser-benchmark");
+        for (String file : COMPLEX_MODEL_FILES) {
+            final String resource = "models/complex-model/" + file;
+            try (final InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+                Files.copy(Objects.requireNonNull(in, "Missing benchmark resource " + resource), workDir.resolve(file));
+            }
+        }
+        final Model model = ControlStructureParsers.parse(workDir.resolve(COMPLEX_MODEL_FILES.getFirst()).toFile());
+        this.serialized = workDir.resolve("model.bin");
+        new ModelWriter().write(model, serialized);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ParserBenchmark.deleteDirectory(workDir);
+    }
+
+    @Benchmark
+    public Model read() throws IOException {
+        return new ModelReader().read(serialized);
+    }
+}
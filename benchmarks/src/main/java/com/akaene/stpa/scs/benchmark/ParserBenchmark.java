@@ -0,0 +1,74 @@
+package com.akaene.stpa.scs.benchmark;
+
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.parser.ControlStructureParsers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures end-to-end parsing via {@link ControlStructureParsers#parse(File)} for every supported input format.
+ * <p>
+ * Scale {@literal 1} corresponds to the original test resource, larger scales to synthetic models containing the
+ * specified number of copies of its content.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"GRAPHML_DESKTOP", "GRAPHML_LIVE", "XMI", "ZIP", "EA"})
+    public ModelFormat format;
+
+    @Param({"1", "10", "100", "1000"})
+    public int scale;
+
+    private Path workDir;
+
+    private File input;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.workDir = Files.createTempDirectory("scsparser-benchmark");
+        this.input = new SyntheticModelGenerator().generate(format, scale, workDir).toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        deleteDirectory(workDir);
+    }
+
+    static void deleteDirectory(Path dir) throws IOException {
+        try (final Stream<Path> toDelete = Files.walk(dir)) {
+            toDelete.sorted(Comparator.reverseOrder())
+                    .map(Path::toFile)
+                    .forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public Model parse() {
+        return ControlStructureParsers.parse(input);
+    }
+}
@@ -0,0 +1,199 @@
+package com.akaene.stpa.scs.benchmark;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates synthetic benchmark inputs by replicating the content of a base model.
+ * <p>
+ * The model elements (GraphML nodes and edges, XMI packaged elements and stereotype applications) are copied {@code
+ * scale - 1} times. Identifiers in each copy are given a unique prefix and references between copied elements are
+ * rewritten accordingly, so that every copy is a self-contained duplicate of the original model content.
+ */
+public class SyntheticModelGenerator {
+
+    private static final String RESOURCE_ROOT = "models/";
+
+    private static final String XMI_NAMESPACE_PREFIX = "http://www.omg.org/spec/XMI";
+
+    private static final String SCHEMA_XMI_NAMESPACE_PREFIX = "http://schema.omg.org/spec/XMI";
+
+    /**
+     * Generates input of the specified format and scale into the target directory.
+     *
+     * @param format    Input format
+     * @param scale     How many times the base model content should be present in the result
+     * @param targetDir Directory to generate the input into
+     * @return Path to the file to parse
+     */
+    public Path generate(ModelFormat format, int scale, Path targetDir) throws Exception {
+        if (scale < 1) {
+            throw new IllegalArgumentException("Scale must be positive.");
+        }
+        final Path contentDir = format.isZipped() ? Files.createDirectories(targetDir.resolve("content")) : targetDir;
+        final Document document = readResource(format.getModel());
+        replicate(document, format.getKind(), scale);
+        final Path model = contentDir.resolve(fileName(format.getModel()));
+        write(document, model);
+        for (String supportingFile : format.getSupportingFiles()) {
+            try (final InputStream in = openResource(supportingFile)) {
+                Files.copy(in, contentDir.resolve(fileName(supportingFile)));
+            }
+        }
+        return format.isZipped() ? zip(contentDir, targetDir.resolve("model.zip")) : model;
+    }
+
+    private static String fileName(String resource) {
+        return resource.substring(resource.lastIndexOf('/') + 1);
+    }
+
+    private static InputStream openResource(String resource) throws IOException {
+        final InputStream in = SyntheticModelGenerator.class.getClassLoader()
+                                                            .getResourceAsStream(RESOURCE_ROOT + resource);
+        if (in == null) {
+            throw new IOException("Benchmark resource " + resource + " not found.");
+        }
+        return in;
+    }
+
+    private static Document readResource(String resource) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        try (final InputStream in = openResource(resource)) {
+            return factory.newDocumentBuilder().parse(in);
+        }
+    }
+
+    private static void write(Document document, Path target) throws Exception {
+        final Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        try (final OutputStream out = Files.newOutputStream(target)) {
+            transformer.transform(new DOMSource(document), new StreamResult(out));
+        }
+    }
+
+    private static Path zip(Path contentDir, Path target) throws IOException {
+        try (final ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(target));
+             final Stream<Path> files = Files.list(contentDir)) {
+            for (Path file : files.toList()) {
+                out.putNextEntry(new ZipEntry(file.getFileName().toString()));
+                Files.copy(file, out);
+                out.closeEntry();
+            }
+        }
+        return target;
+    }
+
+    static void replicate(Document document, ModelFormat.Kind kind, int scale) {
+        final List<Element> originals = switch (kind) {
+            case GRAPHML -> graphMLElements(document);
+            case XMI -> xmiElements(document);
+        };
+        final Set<String> ids = new HashSet<>();
+        originals.forEach(e -> collectIds(e, ids));
+        for (int i = 1; i < scale; i++) {
+            final String prefix = "c" + i + "_";
+            for (Element original : originals) {
+                final Element copy = (Element) original.cloneNode(true);
+                rewrite(copy, ids, prefix, kind == ModelFormat.Kind.XMI ? " " + i : null);
+                original.getParentNode().appendChild(copy);
+            }
+        }
+    }
+
+    private static List<Element> graphMLElements(Document document) {
+        final Element graph = childElements(document.getDocumentElement()).stream()
+                                                                          .filter(e -> "graph".equals(e.getLocalName()))
+                                                                          .findFirst().orElseThrow(
+                        () -> new IllegalArgumentException("GraphML document contains no graph."));
+        return childElements(graph).stream()
+                                   .filter(e -> "node".equals(e.getLocalName()) || "edge".equals(e.getLocalName()))
+                                   .toList();
+    }
+
+    private static List<Element> xmiElements(Document document) {
+        final List<Element> result = new ArrayList<>();
+        for (Element child : childElements(document.getDocumentElement())) {
+            if ("Model".equals(child.getLocalName())) {
+                childElements(child).stream().filter(e -> "packagedElement".equals(e.getLocalName()))
+                                    .forEach(result::add);
+            } else if (!isXmiElement(child)) {
+                // Stereotype applications
+                result.add(child);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isXmiElement(Element element) {
+        final String ns = element.getNamespaceURI();
+        return ns != null && (ns.startsWith(XMI_NAMESPACE_PREFIX) || ns.startsWith(SCHEMA_XMI_NAMESPACE_PREFIX));
+    }
+
+    private static List<Element> childElements(Element parent) {
+        final List<Element> result = new ArrayList<>();
+        for (Node n = parent.getFirstChild(); n != null; n = n.getNextSibling()) {
+            if (n instanceof Element e) {
+                result.add(e);
+            }
+        }
+        return result;
+    }
+
+    private static void collectIds(Element element, Set<String> ids) {
+        final NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            final Attr attr = (Attr) attributes.item(i);
+            if (isIdAttribute(attr)) {
+                ids.add(attr.getValue());
+            }
+        }
+        childElements(element).forEach(e -> collectIds(e, ids));
+    }
+
+    private static boolean isIdAttribute(Attr attr) {
+        return "id".equals(attr.getLocalName() != null ? attr.getLocalName() : attr.getName());
+    }
+
+    private static void rewrite(Element element, Set<String> ids, String prefix, String nameSuffix) {
+        final NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            final Attr attr = (Attr) attributes.item(i);
+            final String localName = attr.getLocalName() != null ? attr.getLocalName() : attr.getName();
+            if (isIdAttribute(attr)) {
+                attr.setValue(prefix + attr.getValue());
+            } else if (nameSuffix != null && "name".equals(localName)) {
+                attr.setValue(attr.getValue() + nameSuffix);
+            } else {
+                // References may be lists of identifiers separated by whitespace
+                attr.setValue(Stream.of(attr.getValue().split(" "))
+                                    .map(token -> ids.contains(token) ? prefix + token : token)
+                                    .collect(Collectors.joining(" ")));
+            }
+        }
+        childElements(element).forEach(e -> rewrite(e, ids, prefix, nameSuffix));
+    }
+}
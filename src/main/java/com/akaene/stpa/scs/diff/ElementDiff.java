@@ -0,0 +1,39 @@
+package com.akaene.stpa.scs.diff;
+
+import java.util.List;
+
+/**
+ * Differences between elements of one kind in two versions of a model.
+ *
+ * @param added   Elements present only in the revised model
+ * @param removed Elements present only in the original model
+ * @param changed Elements present in both models, but with different content
+ * @param <T>     Element type
+ */
+public record ElementDiff<T>(List<T> added, List<T> removed, List<Change<T>> changed) {
+
+    public ElementDiff {
+        added = List.copyOf(added);
+        removed = List.copyOf(removed);
+        changed = List.copyOf(changed);
+    }
+
+    /**
+     * Checks whether there are no differences.
+     *
+     * @return {@code true} if nothing was added, removed or changed
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    /**
+     * Element present in both versions of the model.
+     *
+     * @param original Element from the original model
+     * @param revised  Corresponding element from the revised model
+     * @param <T>      Element type
+     */
+    public record Change<T>(T original, T revised) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.akaene.stpa.scs.diff;
+
+import com.akaene.stpa.scs.model.Association;
+import com.akaene.stpa.scs.model.AssociationEnd;
+import com.akaene.stpa.scs.model.Component;
+import com.akaene.stpa.scs.model.ComponentType;
+import com.akaene.stpa.scs.model.Connector;
+import com.akaene.stpa.scs.model.ConnectorEnd;
+import com.akaene.stpa.scs.model.DiagramNode;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.model.Stereotype;
+import com.akaene.stpa.scs.model.Stereotyped;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Structural differences between two versions of a control structure model.
+ * <p>
+ * Elements of the two models are matched by their qualified names (which are element identifiers in the case of
+ * GraphML), falling back to names when the qualified name is missing. Matched elements are reported as changed when
+ * their content (name, type, ends, stereotypes, etc.) differs. Related elements are compared by their keys, so, for
+ * instance, a connector is not reported as changed just because one of its components has changed.
+ * <p>
+ * The diff is computed in time linear in the size of the models.
+ *
+ * @param classes      Differences in component types
+ * @param components   Differences in components
+ * @param connectors   Differences in connectors
+ * @param associations Differences in associations
+ * @param stereotypes  Differences in stereotypes
+ */
+public record ModelDiff(ElementDiff<ComponentType> classes, ElementDiff<Component> components,
+                        ElementDiff<Connector> connectors, ElementDiff<Association> associations,
+                        ElementDiff<Stereotype> stereotypes) {
+
+    /**
+     * Computes differences between the specified models.
+     *
+     * @param original Original model
+     * @param revised  Revised model
+     * @return Differences between the models
+     */
+    public static ModelDiff between(Model original, Model revised) {
+        Objects.requireNonNull(original);
+        Objects.requireNonNull(revised);
+        return new ModelDiff(diff(original.getClasses(), revised.getClasses(), ModelDiff::key, ModelDiff::content),
+                             diff(original.getComponents(), revised.getComponents(), ModelDiff::key,
+                                  ModelDiff::content),
+                             diff(original.getConnectors(), revised.getConnectors(), ModelDiff::key,
+                                  ModelDiff::content),
+                             diff(original.getAssociations(), revised.getAssociations(), ModelDiff::key,
+                                  ModelDiff::content),
+                             diff(original.getStereotypes(), revised.getStereotypes(), Stereotype::name,
+                                  Stereotype::name));
+    }
+
+    /**
+     * Checks whether the models are structurally equal.
+     *
+     * @return {@code true} if there are no differences
+     */
+    public boolean isEmpty() {
+        return classes.isEmpty() && components.isEmpty() && connectors.isEmpty() && associations.isEmpty() &&
+                stereotypes.isEmpty();
+    }
+
+    private static <T> ElementDiff<T> diff(Collection<T> original, Collection<T> revised, Function<T, String> key,
+                                           Function<T, Object> content) {
+        final Map<String, T> originalIndex = index(original, key);
+        final Map<String, T> revisedIndex = index(revised, key);
+        final List<T> removed = new ArrayList<>();
+        final List<ElementDiff.Change<T>> changed = new ArrayList<>();
+        originalIndex.forEach((k, o) -> {
+            final T r = revisedIndex.remove(k);
+            if (r == null) {
+                removed.add(o);
+            } else if (!Objects.equals(content.apply(o), content.apply(r))) {
+                changed.add(new ElementDiff.Change<>(o, r));
+            }
+        });
+        // Only elements not matched with the original ones remain in the revised index
+        return new ElementDiff<>(new ArrayList<>(revisedIndex.values()), removed, changed);
+    }
+
+    private static <T> Map<String, T> index(Collection<T> elements, Function<T, String> key) {
+        final Map<String, T> index = new LinkedHashMap<>(elements.size() * 4 / 3 + 1);
+        for (T e : elements) {
+            final String k = key.apply(e);
+            String unique = k;
+            // Disambiguate elements with the same key, so that none of them is lost
+            for (int i = 1; index.putIfAbsent(unique, e) != null; i++) {
+                unique = k + "#" + i;
+            }
+        }
+        return index;
+    }
+
+    private static String key(ComponentType type) {
+        if (type == null) {
+            return null;
+        }
+        return type.getQualifiedName() != null ? type.getQualifiedName() : type.getName();
+    }
+
+    private static String key(Component component) {
+        if (component == null) {
+            return null;
+        }
+        return component.getQualifiedName() != null ? component.getQualifiedName() : component.getName();
+    }
+
+    private static String key(Connector connector) {
+        if (connector.getQualifiedName() != null) {
+            return connector.getQualifiedName();
+        }
+        return connector.getName() + "|" + key(connector.getSource().type()) + "->" + key(
+                connector.getTarget().type());
+    }
+
+    private static String key(Association association) {
+        return association.getQualifiedName() != null ? association.getQualifiedName() : association.getName();
+    }
+
+    private static Object content(ComponentType type) {
+        return Arrays.asList(type.getName(), type.getSuperTypes().stream().map(ModelDiff::key).toList(),
+                             stereotypes(type), type.getAttributes().stream().map(ModelDiff::key).toList());
+    }
+
+    private static Object content(Component component) {
+        return Arrays.asList(component.getName(), key(component.getType()), key(component.getParent()),
+                             stereotypes(component), component.getDiagramNode().map(ModelDiff::content).orElse(null));
+    }
+
+    private static Object content(DiagramNode node) {
+        return Arrays.asList(node.getX(), node.getY(), node.getWidth(), node.getHeight());
+    }
+
+    private static Object content(Connector connector) {
+        return Arrays.asList(connector.getName(), content(connector.getSource()), content(connector.getTarget()),
+                             stereotypes(connector));
+    }
+
+    private static Object content(ConnectorEnd end) {
+        return Arrays.asList(key(end.type()), end.role(), end.min(), end.max());
+    }
+
+    private static Object content(Association association) {
+        return Arrays.asList(association.getName(), content(association.getSource()),
+                             content(association.getTarget()), stereotypes(association));
+    }
+
+    private static Object content(AssociationEnd end) {
+        return Arrays.asList(key(end.type()), end.aggregation(), end.role(), end.min(), end.max());
+    }
+
+    private static Set<String> stereotypes(Stereotyped element) {
+        return element.getStereotypes().stream().map(Stereotype::name).collect(Collectors.toSet());
+    }
+}
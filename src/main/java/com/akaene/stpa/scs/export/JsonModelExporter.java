@@ -0,0 +1,166 @@
+package com.akaene.stpa.scs.export;
+
+import com.akaene.stpa.scs.model.Association;
+import com.akaene.stpa.scs.model.AssociationEnd;
+import com.akaene.stpa.scs.model.Component;
+import com.akaene.stpa.scs.model.ComponentType;
+import com.akaene.stpa.scs.model.Connector;
+import com.akaene.stpa.scs.model.ConnectorEnd;
+import com.akaene.stpa.scs.model.DiagramNode;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.model.Stereotype;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Writes a model as a JSON object.
+ * <p>
+ * The object contains the model name and arrays of stereotypes, classes, associations, components and connectors.
+ * Elements reference other elements by their qualified names (names when the qualified name is not set), stereotypes
+ * are referenced by their names. The JSON is written on a single line.
+ */
+public class JsonModelExporter implements ModelExporter {
+
+    @Override
+    public void export(Model model, Appendable out) throws IOException {
+        write(model, new JsonWriter(out));
+    }
+
+    /**
+     * Writes the specified model as the next value of the specified JSON writer.
+     * <p>
+     * This allows to embed the model in a larger JSON document.
+     *
+     * @param model  Model to write
+     * @param writer Writer to write to
+     * @throws IOException When unable to write to the output
+     */
+    public void write(Model model, JsonWriter writer) throws IOException {
+        writer.beginObject().name("name").value(model.getName());
+        writeStereotypes(model.getStereotypes(), writer);
+        writer.name("classes").beginArray();
+        for (ComponentType cls : model.getClasses()) {
+            writeClass(cls, writer);
+        }
+        writer.endArray();
+        writer.name("associations").beginArray();
+        for (Association association : model.getAssociations()) {
+            writeAssociation(association, writer);
+        }
+        writer.endArray();
+        writer.name("components").beginArray();
+        for (Component component : model.getComponents()) {
+            writeComponent(component, writer);
+        }
+        writer.endArray();
+        writer.name("connectors").beginArray();
+        for (Connector connector : model.getConnectors()) {
+            writeConnector(connector, writer);
+        }
+        writer.endArray().endObject();
+    }
+
+    private static void writeClass(ComponentType cls, JsonWriter writer) throws IOException {
+        writer.beginObject().name("name").value(cls.getName()).name("qualifiedName").value(cls.getQualifiedName());
+        writeStereotypes(cls.getStereotypes(), writer);
+        writer.name("superTypes").beginArray();
+        for (ComponentType superType : cls.getSuperTypes()) {
+            writer.value(reference(superType));
+        }
+        writer.endArray();
+        writer.name("attributes").beginArray();
+        for (Association attribute : cls.getAttributes()) {
+            writeAssociation(attribute, writer);
+        }
+        writer.endArray().endObject();
+    }
+
+    private static void writeAssociation(Association association, JsonWriter writer) throws IOException {
+        writer.beginObject().name("name").value(association.getName()).name("qualifiedName")
+              .value(association.getQualifiedName());
+        writeStereotypes(association.getStereotypes(), writer);
+        writer.name("source");
+        writeAssociationEnd(association.getSource(), writer);
+        writer.name("target");
+        writeAssociationEnd(association.getTarget(), writer);
+        writer.endObject();
+    }
+
+    private static void writeAssociationEnd(AssociationEnd end, JsonWriter writer) throws IOException {
+        if (end == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginObject().name("type").value(reference(end.type()))
+              .name("aggregation").value(end.aggregation() != null ? end.aggregation().name() : null)
+              .name("role").value(end.role())
+              .name("min").value(end.min())
+              .name("max").value(end.max())
+              .endObject();
+    }
+
+    private static void writeComponent(Component component, JsonWriter writer) throws IOException {
+        writer.beginObject().name("name").value(component.getName()).name("qualifiedName")
+              .value(component.getQualifiedName())
+              .name("type").value(reference(component.getType()))
+              .name("parent").value(reference(component.getParent()));
+        writeStereotypes(component.getStereotypes(), writer);
+        final Optional<DiagramNode> node = component.getDiagramNode();
+        if (node.isPresent()) {
+            writer.name("diagramNode").beginObject()
+                  .name("x").value(node.get().getX())
+                  .name("y").value(node.get().getY())
+                  .name("width").value(node.get().getWidth())
+                  .name("height").value(node.get().getHeight())
+                  .endObject();
+        }
+        writer.endObject();
+    }
+
+    private static void writeConnector(Connector connector, JsonWriter writer) throws IOException {
+        writer.beginObject().name("name").value(connector.getName()).name("qualifiedName")
+              .value(connector.getQualifiedName());
+        writeStereotypes(connector.getStereotypes(), writer);
+        writer.name("source");
+        writeConnectorEnd(connector.getSource(), writer);
+        writer.name("target");
+        writeConnectorEnd(connector.getTarget(), writer);
+        writer.endObject();
+    }
+
+    private static void writeConnectorEnd(ConnectorEnd end, JsonWriter writer) throws IOException {
+        if (end == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginObject().name("component").value(reference(end.type()))
+              .name("role").value(end.role())
+              .name("min").value(end.min())
+              .name("max").value(end.max())
+              .endObject();
+    }
+
+    private static void writeStereotypes(Collection<Stereotype> stereotypes, JsonWriter writer) throws IOException {
+        writer.name("stereotypes").beginArray();
+        for (Stereotype s : stereotypes) {
+            writer.value(s.name());
+        }
+        writer.endArray();
+    }
+
+    private static String reference(ComponentType type) {
+        if (type == null) {
+            return null;
+        }
+        return type.getQualifiedName() != null ? type.getQualifiedName() : type.getName();
+    }
+
+    private static String reference(Component component) {
+        if (component == null) {
+            return null;
+        }
+        return component.getQualifiedName() != null ? component.getQualifiedName() : component.getName();
+    }
+}
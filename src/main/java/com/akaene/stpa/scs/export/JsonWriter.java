@@ -0,0 +1,144 @@
+package com.akaene.stpa.scs.export;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * Minimal streaming JSON writer.
+ * <p>
+ * Values are written to the underlying output immediately, only the nesting of objects and arrays is kept in memory.
+ * The writer does not validate the structure of the written document beyond separating values.
+ */
+public class JsonWriter {
+
+    private final Appendable out;
+
+    /**
+     * Whether the enclosing objects and arrays already contain a value, innermost first.
+     */
+    private final Deque<Boolean> scopes = new ArrayDeque<>();
+
+    private boolean afterName;
+
+    public JsonWriter(Appendable out) {
+        this.out = Objects.requireNonNull(out);
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        out.append('{');
+        scopes.push(false);
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        scopes.pop();
+        out.append('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        out.append('[');
+        scopes.push(false);
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        scopes.pop();
+        out.append(']');
+        return this;
+    }
+
+    /**
+     * Writes name of the next member of the current object.
+     *
+     * @param name Member name
+     * @return This writer
+     * @throws IOException When unable to write to the output
+     */
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        writeString(name);
+        out.append(':');
+        this.afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(Integer value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        return value(value.longValue());
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        out.append(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.append(Boolean.toString(value));
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.append("null");
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            this.afterName = false;
+        } else {
+            separate();
+        }
+    }
+
+    private void separate() throws IOException {
+        if (scopes.isEmpty()) {
+            return;
+        }
+        if (scopes.peek()) {
+            out.append(',');
+        } else {
+            scopes.pop();
+            scopes.push(true);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        out.append('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            final String escaped = switch (c) {
+                case '"' -> "\\\"";
+                case '\\' -> "\\\\";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                default -> c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+            };
+            if (escaped != null) {
+                out.append(value, start, i).append(escaped);
+                start = i + 1;
+            }
+        }
+        out.append(value, start, value.length()).append('"');
+    }
+}
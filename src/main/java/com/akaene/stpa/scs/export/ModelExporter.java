@@ -0,0 +1,59 @@
+package com.akaene.stpa.scs.export;
+
+import com.akaene.stpa.scs.model.Model;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a model to an output incrementally.
+ * <p>
+ * The model is written element by element, so the memory needed does not depend on the size of the model.
+ */
+public interface ModelExporter {
+
+    /**
+     * Writes the specified model to the specified output.
+     * <p>
+     * The output is neither flushed nor closed. It should be buffered (e.g., a {@link BufferedWriter}), as the model is
+     * written in many small pieces.
+     *
+     * @param model Model to write
+     * @param out   Output to write to
+     * @throws IOException When unable to write to the output
+     */
+    void export(Model model, Appendable out) throws IOException;
+
+    /**
+     * Writes the specified model to the specified stream using UTF-8.
+     * <p>
+     * The stream is flushed, but not closed.
+     *
+     * @param model Model to write
+     * @param out   Stream to write to
+     * @throws IOException When unable to write to the stream
+     */
+    default void export(Model model, OutputStream out) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        export(model, writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes the specified model to the specified print stream (e.g., {@link System#out}) using UTF-8.
+     * <p>
+     * Same as {@link #export(Model, OutputStream)}, allowing to pass print streams, which are also {@link Appendable}.
+     *
+     * @param model Model to write
+     * @param out   Stream to write to
+     * @throws IOException When unable to write to the stream
+     */
+    default void export(Model model, PrintStream out) throws IOException {
+        export(model, (OutputStream) out);
+    }
+}
@@ -0,0 +1,37 @@
+package com.akaene.stpa.scs.export;
+
+import com.akaene.stpa.scs.model.Model;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Writes a human-readable dump of a model.
+ * <p>
+ * The dump consists of the model name and lists of classes, associations and connectors. It is the same as
+ * {@link Model#toString()}, but it is written element by element instead of being built as a single string.
+ */
+public class TextModelExporter implements ModelExporter {
+
+    @Override
+    public void export(Model model, Appendable out) throws IOException {
+        out.append(String.valueOf(model.getName()));
+        writeSection("Classes", model.getClasses(), out);
+        out.append("\n\n");
+        writeSection("Associations", model.getAssociations(), out);
+        out.append("\n\n");
+        writeSection("Connectors", model.getConnectors(), out);
+    }
+
+    private static void writeSection(String title, Collection<?> elements, Appendable out) throws IOException {
+        out.append('\n').append(title).append(" (").append(Integer.toString(elements.size())).append("):\n");
+        boolean first = true;
+        for (Object element : elements) {
+            if (!first) {
+                out.append('\n');
+            }
+            out.append(String.valueOf(element));
+            first = false;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.akaene.stpa.scs.io;
+
+import com.akaene.stpa.scs.model.AggregationType;
+import com.akaene.stpa.scs.model.Association;
+import com.akaene.stpa.scs.model.AssociationEnd;
+import com.akaene.stpa.scs.model.Component;
+import com.akaene.stpa.scs.model.ComponentType;
+import com.akaene.stpa.scs.model.Connector;
+import com.akaene.stpa.scs.model.ConnectorEnd;
+import com.akaene.stpa.scs.model.DiagramNode;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.model.Stereotype;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Reads control structure models written by {@link ModelWriter}.
+ */
+public class ModelReader {
+
+    private static final AggregationType[] AGGREGATION_TYPES = AggregationType.values();
+
+    /**
+     * Maximum initial capacity of tables, larger tables grow as their elements are read.
+     */
+    private static final int MAX_INITIAL_TABLE_CAPACITY = 1024;
+
+    /**
+     * Reads model from the specified file.
+     *
+     * @param input File to read
+     * @return Model read from the file
+     * @throws IOException When the file cannot be read or it does not contain a model in a supported format
+     */
+    public Model read(Path input) throws IOException {
+        try (final InputStream in = new BufferedInputStream(Files.newInputStream(input))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads model from the specified stream.
+     * <p>
+     * The stream is not closed by this method.
+     *
+     * @param input Stream to read
+     * @return Model read from the stream
+     * @throws IOException When the stream cannot be read or it does not contain a model in a supported format
+     */
+    public Model read(InputStream input) throws IOException {
+        final DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != ModelWriter.MAGIC) {
+            throw new IOException("Input does not contain a serialized model.");
+        }
+        final int version = readVarInt(in);
+        if (version != ModelWriter.VERSION) {
+            throw new IOException("Unsupported model format version " + version + ".");
+        }
+        try {
+            return new Context(in).readModel();
+        } catch (RuntimeException e) {
+            // Inconsistent data rejected by the model
+            throw new IOException("Input does not contain a valid serialized model.", e);
+        }
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException {
+        final long value = readVarLong(in);
+        if (value > 0xFFFFFFFFL) {
+            throw new IOException("Invalid integer value " + value + ".");
+        }
+        return (int) value;
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer.");
+    }
+
+    /**
+     * Holds the tables read so far.
+     */
+    private static final class Context {
+
+        private final DataInputStream in;
+
+        private String[] strings;
+        private Stereotype[] stereotypes;
+        private ComponentType[] types;
+        private Association[] associations;
+        private Component[] components;
+
+        private Context(DataInputStream in) {
+            this.in = in;
+        }
+
+        private Model readModel() throws IOException {
+            this.strings = readTable(String[]::new, () -> readUtf8(readCount()));
+            final Model model = new Model();
+            model.setName(readString());
+
+            this.stereotypes = readTable(Stereotype[]::new, () -> new Stereotype(readString()));
+            for (int i = readCount(); i > 0; i--) {
+                model.addStereotype(readRef(stereotypes));
+            }
+
+            this.types = readTable(ComponentType[]::new, () -> {
+                final ComponentType type = new ComponentType(readString(), readString());
+                readStereotypes(type.getStereotypes());
+                return type;
+            });
+
+            this.associations = readTable(Association[]::new, () -> {
+                final String name = readString();
+                final String qualifiedName = readString();
+                final Association association = new Association(name, qualifiedName, readAssociationEnd(),
+                                                                readAssociationEnd());
+                readStereotypes(association.getStereotypes());
+                return association;
+            });
+            for (ComponentType t : types) {
+                for (int i = readCount(); i > 0; i--) {
+                    t.addSuperType(readRequiredTypeRef());
+                }
+                for (int i = readCount(); i > 0; i--) {
+                    t.addAttribute(readRef(associations));
+                }
+            }
+            for (int i = readCount(); i > 0; i--) {
+                model.addClass(readRequiredTypeRef());
+            }
+            for (int i = readCount(); i > 0; i--) {
+                model.addAssociation(readRef(associations));
+            }
+
+            this.components = readTable(Component[]::new, () -> {
+                final String name = readString();
+                final String qualifiedName = readString();
+                final Component component = new Component(name, qualifiedName, readTypeRef());
+                readStereotypes(component.getStereotypes());
+                component.setDiagramNode(readDiagramNode());
+                return component;
+            });
+            for (Component c : components) {
+                c.setParent(readNullableRef(components));
+            }
+            for (int i = readCount(); i > 0; i--) {
+                model.addComponent(readRef(components));
+            }
+
+            for (int i = readCount(); i > 0; i--) {
+                final String name = readString();
+                final String qualifiedName = readString();
+                final Connector connector = new Connector(name, qualifiedName, readConnectorEnd(), readConnectorEnd());
+                readStereotypes(connector.getStereotypes());
+                model.addConnector(connector);
+            }
+            return model;
+        }
+
+        /**
+         * Reads a table of elements.
+         * <p>
+         * The table is not allocated upfront based on its declared size, so that a corrupt size does not exhaust
+         * memory. Each element takes at least one byte of the input, so the table grows only as far as the input
+         * allows.
+         */
+        private <T> T[] readTable(IntFunction<T[]> arrayFactory, ElementReader<T> reader) throws IOException {
+            final int count = readCount();
+            final List<T> elements = new ArrayList<>(Math.min(count, MAX_INITIAL_TABLE_CAPACITY));
+            for (int i = 0; i < count; i++) {
+                elements.add(reader.read());
+            }
+            return elements.toArray(arrayFactory.apply(elements.size()));
+        }
+
+        private String readUtf8(int length) throws IOException {
+            // readNBytes does not allocate the whole length upfront
+            final byte[] bytes = in.readNBytes(length);
+            if (bytes.length != length) {
+                throw new EOFException("Unexpected end of input.");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int readCount() throws IOException {
+            final int count = readVarInt(in);
+            if (count < 0) {
+                throw new IOException("Invalid element count " + Integer.toUnsignedString(count) + ".");
+            }
+            return count;
+        }
+
+        private String readString() throws IOException {
+            return readNullableRef(strings);
+        }
+
+        private <T> T readRef(T[] table) throws IOException {
+            final int index = readVarInt(in);
+            if (index < 0 || index >= table.length) {
+                throw new IOException("Invalid reference " + Integer.toUnsignedString(index) + ".");
+            }
+            return table[index];
+        }
+
+        private <T> T readNullableRef(T[] table) throws IOException {
+            final int index = readVarInt(in);
+            if (index == 0) {
+                return null;
+            }
+            if (index < 0 || index > table.length) {
+                throw new IOException("Invalid reference " + Integer.toUnsignedString(index) + ".");
+            }
+            return table[index - 1];
+        }
+
+        private ComponentType readTypeRef() throws IOException {
+            final int index = readVarInt(in);
+            return switch (index) {
+                case 0 -> null;
+                case 1 -> ComponentType.UNSPECIFIED;
+                default -> {
+                    if (index < 0 || index - 2 >= types.length) {
+                        throw new IOException("Invalid type reference " + Integer.toUnsignedString(index) + ".");
+                    }
+                    yield types[index - 2];
+                }
+            };
+        }
+
+        private ComponentType readRequiredTypeRef() throws IOException {
+            final ComponentType type = readTypeRef();
+            if (type == null) {
+                throw new IOException("Missing required type reference.");
+            }
+            return type;
+        }
+
+        private void readStereotypes(List<Stereotype> target) throws IOException {
+            for (int i = readCount(); i > 0; i--) {
+                target.add(readRef(stereotypes));
+            }
+        }
+
+        private AssociationEnd readAssociationEnd() throws IOException {
+            final ComponentType type = readTypeRef();
+            final int aggregation = readVarInt(in);
+            if (aggregation < 0 || aggregation > AGGREGATION_TYPES.length) {
+                throw new IOException("Invalid aggregation type " + Integer.toUnsignedString(aggregation) + ".");
+            }
+            return new AssociationEnd(type, aggregation > 0 ? AGGREGATION_TYPES[aggregation - 1] : null, readString(),
+                                      readNullableInt(), readNullableInt());
+        }
+
+        private ConnectorEnd readConnectorEnd() throws IOException {
+            return new ConnectorEnd(readNullableRef(components), readString(), readNullableInt(), readNullableInt());
+        }
+
+        private DiagramNode readDiagramNode() throws IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            return new DiagramNode(readNullableInt(), readNullableInt(), readNullableInt(), readNullableInt());
+        }
+
+        private Integer readNullableInt() throws IOException {
+            final long value = readVarLong(in);
+            if (value == 0) {
+                return null;
+            }
+            if (value > 0x100000000L) {
+                throw new IOException("Invalid integer value " + value + ".");
+            }
+            final int zigZag = (int) (value - 1);
+            return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ElementReader<T> {
+
+        T read() throws IOException;
+    }
+}
@@ -0,0 +1,298 @@
+package com.akaene.stpa.scs.io;
+
+import com.akaene.stpa.scs.model.AggregationType;
+import com.akaene.stpa.scs.model.Association;
+import com.akaene.stpa.scs.model.AssociationEnd;
+import com.akaene.stpa.scs.model.Component;
+import com.akaene.stpa.scs.model.ComponentType;
+import com.akaene.stpa.scs.model.Connector;
+import com.akaene.stpa.scs.model.ConnectorEnd;
+import com.akaene.stpa.scs.model.DiagramNode;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.model.Stereotype;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes control structure models in a compact binary format.
+ * <p>
+ * The format starts with a magic number and format version, followed by a table of all the strings used in the model.
+ * Model elements are then written in tables as well and refer to strings and other elements by their index in the
+ * corresponding table. Integers are written as variable-length quantities.
+ * <p>
+ * Models written by this class can be read by {@link ModelReader}.
+ */
+public class ModelWriter {
+
+    static final int MAGIC = 0x5343534D;
+
+    /**
+     * Version of the format, changed whenever the format changes incompatibly.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Writes the specified model into the specified file.
+     *
+     * @param model  Model to write
+     * @param output Target file, overwritten if it exists
+     * @throws IOException When the model cannot be written
+     */
+    public void write(Model model, Path output) throws IOException {
+        try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            write(model, out);
+        }
+    }
+
+    /**
+     * Writes the specified model into the specified stream.
+     * <p>
+     * The stream is not closed by this method.
+     *
+     * @param model  Model to write
+     * @param output Target stream
+     * @throws IOException When the model cannot be written
+     */
+    public void write(Model model, OutputStream output) throws IOException {
+        final Context ctx = new Context(model);
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ctx.writeBody(new DataOutputStream(body));
+
+        final DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        writeVarInt(out, VERSION);
+        writeVarInt(out, ctx.strings.size());
+        for (String s : ctx.strings.keySet()) {
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+        body.writeTo(out);
+        out.flush();
+    }
+
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, Integer.toUnsignedLong(value));
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Collects model elements into tables and writes them.
+     */
+    private static final class Context {
+
+        private final Model model;
+
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final Map<Stereotype, Integer> stereotypes = new LinkedHashMap<>();
+        private final Map<ComponentType, Integer> types = new IdentityHashMap<>();
+        private final Map<Association, Integer> associations = new IdentityHashMap<>();
+        private final Map<Component, Integer> components = new IdentityHashMap<>();
+
+        // Identity maps do not keep insertion order, so the elements are listed separately
+        private final List<ComponentType> typeList = new ArrayList<>();
+        private final List<Association> associationList = new ArrayList<>();
+        private final List<Component> componentList = new ArrayList<>();
+
+        private Context(Model model) {
+            this.model = model;
+            model.getStereotypes().forEach(this::registerStereotype);
+            model.getClasses().forEach(this::registerType);
+            model.getAssociations().forEach(this::registerAssociation);
+            model.getComponents().forEach(this::registerComponent);
+            for (Connector c : model.getConnectors()) {
+                registerComponent(c.getSource().type());
+                registerComponent(c.getTarget().type());
+                c.getStereotypes().forEach(this::registerStereotype);
+            }
+        }
+
+        private void registerStereotype(Stereotype stereotype) {
+            stereotypes.putIfAbsent(stereotype, stereotypes.size());
+        }
+
+        private void registerType(ComponentType type) {
+            if (type == null || type == ComponentType.UNSPECIFIED || types.containsKey(type)) {
+                return;
+            }
+            types.put(type, typeList.size());
+            typeList.add(type);
+            type.getStereotypes().forEach(this::registerStereotype);
+            type.getSuperTypes().forEach(this::registerType);
+            type.getAttributes().forEach(this::registerAssociation);
+        }
+
+        private void registerAssociation(Association association) {
+            if (associations.containsKey(association)) {
+                return;
+            }
+            associations.put(association, associationList.size());
+            associationList.add(association);
+            association.getStereotypes().forEach(this::registerStereotype);
+            registerType(association.getSource().type());
+            registerType(association.getTarget().type());
+        }
+
+        private void registerComponent(Component component) {
+            if (component == null || components.containsKey(component)) {
+                return;
+            }
+            components.put(component, componentList.size());
+            componentList.add(component);
+            component.getStereotypes().forEach(this::registerStereotype);
+            registerType(component.getType());
+            registerComponent(component.getParent());
+        }
+
+        private void writeBody(DataOutputStream out) throws IOException {
+            writeString(out, model.getName());
+
+            writeVarInt(out, stereotypes.size());
+            for (Stereotype s : stereotypes.keySet()) {
+                writeString(out, s.name());
+            }
+            writeRefs(out, model.getStereotypes(), stereotypes);
+
+            writeVarInt(out, typeList.size());
+            for (ComponentType t : typeList) {
+                writeString(out, t.getName());
+                writeString(out, t.getQualifiedName());
+                writeRefs(out, t.getStereotypes(), stereotypes);
+            }
+
+            writeVarInt(out, associationList.size());
+            for (Association a : associationList) {
+                writeString(out, a.getName());
+                writeString(out, a.getQualifiedName());
+                writeEnd(out, a.getSource());
+                writeEnd(out, a.getTarget());
+                writeRefs(out, a.getStereotypes(), stereotypes);
+            }
+            // Type relationships are written after associations, so that they can be resolved when reading
+            for (ComponentType t : typeList) {
+                writeVarInt(out, t.getSuperTypes().size());
+                for (ComponentType st : t.getSuperTypes()) {
+                    writeTypeRef(out, st);
+                }
+                writeRefs(out, t.getAttributes(), associations);
+            }
+            writeVarInt(out, model.getClasses().size());
+            for (ComponentType t : model.getClasses()) {
+                writeTypeRef(out, t);
+            }
+            writeRefs(out, model.getAssociations(), associations);
+
+            writeVarInt(out, componentList.size());
+            for (Component c : componentList) {
+                writeString(out, c.getName());
+                writeString(out, c.getQualifiedName());
+                writeTypeRef(out, c.getType());
+                writeRefs(out, c.getStereotypes(), stereotypes);
+                writeDiagramNode(out, c.getDiagramNode().orElse(null));
+            }
+            for (Component c : componentList) {
+                writeNullableRef(out, c.getParent() != null ? components.get(c.getParent()) : null);
+            }
+            writeRefs(out, model.getComponents(), components);
+
+            writeVarInt(out, model.getConnectors().size());
+            for (Connector c : model.getConnectors()) {
+                writeString(out, c.getName());
+                writeString(out, c.getQualifiedName());
+                writeEnd(out, c.getSource());
+                writeEnd(out, c.getTarget());
+                writeRefs(out, c.getStereotypes(), stereotypes);
+            }
+        }
+
+        private void writeString(DataOutputStream out, String value) throws IOException {
+            if (value == null) {
+                writeVarInt(out, 0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index == null) {
+                index = strings.size();
+                strings.put(value, index);
+            }
+            writeVarInt(out, index + 1);
+        }
+
+        private static <T> void writeRefs(DataOutputStream out, Collection<T> elements,
+                                          Map<T, Integer> table) throws IOException {
+            writeVarInt(out, elements.size());
+            for (T e : elements) {
+                writeVarInt(out, table.get(e));
+            }
+        }
+
+        private static void writeNullableRef(DataOutputStream out, Integer index) throws IOException {
+            writeVarInt(out, index != null ? index + 1 : 0);
+        }
+
+        private void writeTypeRef(DataOutputStream out, ComponentType type) throws IOException {
+            if (type == null) {
+                writeVarInt(out, 0);
+            } else if (type == ComponentType.UNSPECIFIED) {
+                writeVarInt(out, 1);
+            } else {
+                writeVarInt(out, types.get(type) + 2);
+            }
+        }
+
+        private void writeEnd(DataOutputStream out, AssociationEnd end) throws IOException {
+            writeTypeRef(out, end.type());
+            final AggregationType aggregation = end.aggregation();
+            writeVarInt(out, aggregation != null ? aggregation.ordinal() + 1 : 0);
+            writeString(out, end.role());
+            writeNullableInt(out, end.min());
+            writeNullableInt(out, end.max());
+        }
+
+        private void writeEnd(DataOutputStream out, ConnectorEnd end) throws IOException {
+            writeNullableRef(out, end.type() != null ? components.get(end.type()) : null);
+            writeString(out, end.role());
+            writeNullableInt(out, end.min());
+            writeNullableInt(out, end.max());
+        }
+
+        private static void writeDiagramNode(DataOutputStream out, DiagramNode node) throws IOException {
+            out.writeBoolean(node != null);
+            if (node != null) {
+                writeNullableInt(out, node.getX());
+                writeNullableInt(out, node.getY());
+                writeNullableInt(out, node.getWidth());
+                writeNullableInt(out, node.getHeight());
+            }
+        }
+
+        private static void writeNullableInt(DataOutputStream out, Integer value) throws IOException {
+            if (value == null) {
+                writeVarInt(out, 0);
+            } else {
+                // Zig-zag encoding keeps small negative values (e.g., unlimited cardinality) short
+                writeVarLong(out, Integer.toUnsignedLong((value << 1) ^ (value >> 31)) + 1);
+            }
+        }
+    }
+}
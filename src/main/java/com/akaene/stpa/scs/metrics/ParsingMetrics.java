@@ -0,0 +1,89 @@
+package com.akaene.stpa.scs.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Instrumentation of parsing phases.
+ * <p>
+ * Each phase is recorded as a {@code com.akaene.stpa.scs.ParsingPhase} JDK Flight Recorder event (when enabled in the
+ * recording) and reported to the registered {@link ParsingMetricsListener}s. Listeners declared as services in
+ * {@code META-INF/services} are registered automatically.
+ */
+public final class ParsingMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParsingMetrics.class);
+
+    private static final List<ParsingMetricsListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    static {
+        ServiceLoader.load(ParsingMetricsListener.class).forEach(LISTENERS::add);
+    }
+
+    private ParsingMetrics() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Registers the specified listener.
+     *
+     * @param listener Listener to register
+     */
+    public static void addListener(ParsingMetricsListener listener) {
+        LISTENERS.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Unregisters the specified listener.
+     *
+     * @param listener Listener to unregister
+     */
+    public static void removeListener(ParsingMetricsListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Starts measuring the specified parsing phase.
+     *
+     * @param phase     Parsing phase
+     * @param input     Name of the input file
+     * @param inputSize Size of the input in bytes, {@code -1} if unknown
+     * @return Measurement, to be closed when the phase ends
+     */
+    public static PhaseMeasurement start(ParsingPhase phase, String input, long inputSize) {
+        final ParsingPhaseEvent event = new ParsingPhaseEvent();
+        event.begin();
+        return new PhaseMeasurement(phase, input, inputSize, event);
+    }
+
+    static void record(PhaseMeasurement measurement, long durationNanos) {
+        final ParsingPhaseEvent event = measurement.getEvent();
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = measurement.getPhase().name();
+            event.input = measurement.getInput();
+            event.inputSize = measurement.getInputSize();
+            event.elementCount = measurement.getElementCount();
+            event.commit();
+        }
+        if (LISTENERS.isEmpty()) {
+            return;
+        }
+        final PhaseMetrics metrics = new PhaseMetrics(measurement.getPhase(), measurement.getInput(),
+                                                      Duration.ofNanos(durationNanos), measurement.getInputSize(),
+                                                      measurement.getElementCount());
+        for (ParsingMetricsListener listener : LISTENERS) {
+            try {
+                listener.phaseCompleted(metrics);
+            } catch (RuntimeException e) {
+                LOG.warn("Parsing metrics listener {} failed.", listener, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.akaene.stpa.scs.metrics;
+
+/**
+ * Receives measurements of parsing phases.
+ * <p>
+ * Listeners can be registered using {@link ParsingMetrics#addListener(ParsingMetricsListener)} or discovered via
+ * {@link java.util.ServiceLoader}. Listeners are invoked synchronously from the parsing threads, possibly
+ * concurrently, so they should be fast and thread-safe.
+ */
+@FunctionalInterface
+public interface ParsingMetricsListener {
+
+    /**
+     * Called when a parsing phase completes, successfully or not.
+     *
+     * @param metrics Phase measurement
+     */
+    void phaseCompleted(PhaseMetrics metrics);
+}
@@ -0,0 +1,51 @@
+package com.akaene.stpa.scs.metrics;
+
+/**
+ * Phases of parsing a control structure model.
+ */
+public enum ParsingPhase {
+    /**
+     * Detecting format of the input file.
+     */
+    FORMAT_DETECTION,
+    /**
+     * Unzipping or listing a ZIP archive. Element count is the number of archive entries.
+     */
+    UNZIP,
+    /**
+     * Transforming an Enterprise Architect export into an EMF-readable form.
+     */
+    XSLT_TRANSFORM,
+    /**
+     * Loading an EMF resource. Element count is the number of loaded resources (the model and referenced profiles).
+     */
+    RESOURCE_LOAD,
+    /**
+     * Extracting stereotypes. Element count is the number of stereotype applications.
+     */
+    STEREOTYPE_EXTRACTION,
+    /**
+     * Extracting classes (component types). Element count is the number of classes.
+     */
+    CLASS_EXTRACTION,
+    /**
+     * Extracting connectors. Element count is the number of connectors.
+     */
+    CONNECTOR_EXTRACTION,
+    /**
+     * Extracting associations. Element count is the number of associations.
+     */
+    ASSOCIATION_EXTRACTION,
+    /**
+     * Reading GraphML document content. Element count is the number of nodes and edges.
+     */
+    GRAPHML_CONTENT_READING,
+    /**
+     * Reading components from GraphML nodes. Element count is the number of components.
+     */
+    GRAPHML_NODE_READING,
+    /**
+     * Reading connectors from GraphML edges. Element count is the number of connectors.
+     */
+    GRAPHML_EDGE_READING
+}
@@ -0,0 +1,33 @@
+package com.akaene.stpa.scs.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event recorded for each parsing phase.
+ */
+@Name("com.akaene.stpa.scs.ParsingPhase")
+@Label("Parsing Phase")
+@Description("Phase of parsing a control structure model")
+@Category("Control Structure Parser")
+@StackTrace(false)
+class ParsingPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Input")
+    String input;
+
+    @Label("Input Size")
+    @DataAmount
+    long inputSize;
+
+    @Label("Element Count")
+    int elementCount;
+}
@@ -0,0 +1,65 @@
+package com.akaene.stpa.scs.metrics;
+
+/**
+ * Measurement of a running parsing phase.
+ * <p>
+ * The phase ends when the measurement is closed.
+ *
+ * @see ParsingMetrics#start(ParsingPhase, String, long)
+ */
+public final class PhaseMeasurement implements AutoCloseable {
+
+    private final ParsingPhase phase;
+
+    private final String input;
+
+    private final long inputSize;
+
+    private final ParsingPhaseEvent event;
+
+    private final long start;
+
+    private int elementCount;
+
+    PhaseMeasurement(ParsingPhase phase, String input, long inputSize, ParsingPhaseEvent event) {
+        this.phase = phase;
+        this.input = input;
+        this.inputSize = inputSize;
+        this.event = event;
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Sets the number of elements processed in the phase.
+     *
+     * @param elementCount Element count
+     */
+    public void setElementCount(int elementCount) {
+        this.elementCount = elementCount;
+    }
+
+    @Override
+    public void close() {
+        ParsingMetrics.record(this, System.nanoTime() - start);
+    }
+
+    ParsingPhase getPhase() {
+        return phase;
+    }
+
+    String getInput() {
+        return input;
+    }
+
+    long getInputSize() {
+        return inputSize;
+    }
+
+    ParsingPhaseEvent getEvent() {
+        return event;
+    }
+
+    int getElementCount() {
+        return elementCount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.akaene.stpa.scs.metrics;
+
+import java.time.Duration;
+
+/**
+ * Measurement of a single parsing phase.
+ *
+ * @param phase        Parsing phase
+ * @param input        Name of the input file
+ * @param duration     Duration of the phase
+ * @param inputSize    Size of the input file in bytes, {@code -1} if unknown
+ * @param elementCount Number of elements processed in the phase (see {@link ParsingPhase}), {@code 0} if not
+ *                     applicable
+ */
+public record PhaseMetrics(ParsingPhase phase, String input, Duration duration, long inputSize, int elementCount) {
+}
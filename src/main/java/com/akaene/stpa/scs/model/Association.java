@@ -1,6 +1,5 @@
 package com.akaene.stpa.scs.model;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -14,7 +13,11 @@ public class Association implements Stereotyped {
 
     private final AssociationEnd target;
 
-    private final List<Stereotype> stereotypes = new ArrayList<>();
+    private final StereotypeList stereotypes = new StereotypeList();
+
+    private boolean frozen;
+
+    private int hash;
 
     public Association(String name, String qualifiedName, AssociationEnd source, AssociationEnd target) {
         this.source = source;
@@ -46,6 +49,23 @@ public class Association implements Stereotyped {
         return stereotypes;
     }
 
+    /**
+     * Makes this association unmodifiable.
+     * <p>
+     * Types of the association ends are frozen separately.
+     *
+     * @return {@code false} if it has already been frozen, {@code true} otherwise
+     */
+    boolean freeze() {
+        if (frozen) {
+            return false;
+        }
+        this.frozen = true;
+        stereotypes.freeze();
+        this.hash = computeHashCode();
+        return true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -58,6 +78,10 @@ public class Association implements Stereotyped {
 
     @Override
     public int hashCode() {
+        return frozen ? hash : computeHashCode();
+    }
+
+    private int computeHashCode() {
         return Objects.hash(getName(), getSource(), getTarget(), getStereotypes());
     }
 
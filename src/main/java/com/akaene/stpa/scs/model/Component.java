@@ -1,6 +1,5 @@
 package com.akaene.stpa.scs.model;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -15,10 +14,14 @@ public class Component implements Connectable, Stereotyped {
 
     private Component parent;
 
-    private final List<Stereotype> stereotypes = new ArrayList<>();
+    private final StereotypeList stereotypes = new StereotypeList();
 
     private DiagramNode diagramNode;
 
+    private boolean frozen;
+
+    private int hash;
+
     public Component(String name, String qualifiedName, ComponentType type) {
         this.name = name;
         this.qualifiedName = qualifiedName;
@@ -52,6 +55,7 @@ public class Component implements Connectable, Stereotyped {
     }
 
     public void setDiagramNode(DiagramNode diagramNode) {
+        checkNotFrozen();
         this.diagramNode = diagramNode;
     }
 
@@ -60,9 +64,34 @@ public class Component implements Connectable, Stereotyped {
     }
 
     public void setParent(Component parent) {
+        checkNotFrozen();
         this.parent = parent;
     }
 
+    /**
+     * Makes this component unmodifiable, including its stereotypes and diagram node.
+     *
+     * @return {@code false} if it has already been frozen, {@code true} otherwise
+     */
+    boolean freeze() {
+        if (frozen) {
+            return false;
+        }
+        this.frozen = true;
+        stereotypes.freeze();
+        if (diagramNode != null) {
+            diagramNode.freeze();
+        }
+        this.hash = computeHashCode();
+        return true;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Component of a frozen model cannot be modified.");
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -77,6 +106,10 @@ public class Component implements Connectable, Stereotyped {
 
     @Override
     public int hashCode() {
+        return frozen ? hash : computeHashCode();
+    }
+
+    private int computeHashCode() {
         return Objects.hash(getName(), getQualifiedName());
     }
 
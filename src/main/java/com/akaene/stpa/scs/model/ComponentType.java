@@ -3,9 +3,9 @@ package com.akaene.stpa.scs.model;
 import com.akaene.stpa.scs.util.CardinalityUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class ComponentType implements Stereotyped {
 
@@ -15,11 +15,15 @@ public class ComponentType implements Stereotyped {
 
     private final String qualifiedName;
 
-    private final List<ComponentType> superTypes = new ArrayList<>();
+    private List<ComponentType> superTypes = new ArrayList<>();
 
-    private final List<Stereotype> stereotypes = new ArrayList<>();
+    private final StereotypeList stereotypes = new StereotypeList();
 
-    private final List<Association> attributes = new ArrayList<>();
+    private List<Association> attributes = new ArrayList<>();
+
+    private boolean frozen;
+
+    private int hash;
 
     public ComponentType(String name, String qualifiedName) {
         this.name = name;
@@ -39,6 +43,7 @@ public class ComponentType implements Stereotyped {
     }
 
     public void addSuperType(ComponentType superType) {
+        checkNotFrozen();
         superTypes.add(superType);
     }
 
@@ -47,6 +52,7 @@ public class ComponentType implements Stereotyped {
     }
 
     public void addAttribute(Association att) {
+        checkNotFrozen();
         attributes.add(att);
     }
 
@@ -55,26 +61,66 @@ public class ComponentType implements Stereotyped {
         return stereotypes;
     }
 
+    /**
+     * Makes this type unmodifiable.
+     * <p>
+     * Super types and attributes are frozen separately.
+     *
+     * @return {@code false} if it has already been frozen, {@code true} otherwise
+     */
+    boolean freeze() {
+        if (frozen) {
+            return false;
+        }
+        this.frozen = true;
+        stereotypes.freeze();
+        this.superTypes = Collections.unmodifiableList(superTypes);
+        this.attributes = Collections.unmodifiableList(attributes);
+        this.hash = computeHashCode();
+        return true;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Component type of a frozen model cannot be modified.");
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof ComponentType that)) return false;
-        return Objects.equals(getName(), that.getName()) && Objects.equals(getSuperTypes(),
-                                                                           that.getSuperTypes()) && Objects.equals(
-                getStereotypes(), that.getStereotypes());
+        return Objects.equals(getName(), that.getName()) && Objects.equals(getQualifiedName(),
+                                                                           that.getQualifiedName()) &&
+                Objects.equals(getSuperTypes(), that.getSuperTypes()) && Objects.equals(getStereotypes(),
+                                                                                        that.getStereotypes());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getName(), getSuperTypes(), getStereotypes());
+        return frozen ? hash : computeHashCode();
+    }
+
+    private int computeHashCode() {
+        return Objects.hash(getName(), getQualifiedName(), getSuperTypes(), getStereotypes());
     }
 
     @Override
     public String toString() {
-        final String atts = attributes.stream().map(a -> "\t" + a.getTarget().type().getName() + " " + a.getTarget()
-                                                                                                        .role() + " [" + CardinalityUtils.toString(
-                a.getTarget().min()) + ".." + CardinalityUtils.toString(a.getTarget().max()) + "];").collect(
-                Collectors.joining("\n"));
-        return name + (!stereotypes.isEmpty() ? " " + stereotypes : "") + (!atts.isBlank() ? " {\n" + atts +"\n}" : " { }");
+        final StringBuilder sb = new StringBuilder().append(name);
+        if (!stereotypes.isEmpty()) {
+            sb.append(' ').append(stereotypes);
+        }
+        if (attributes.isEmpty()) {
+            return sb.append(" { }").toString();
+        }
+        sb.append(" {");
+        for (Association a : attributes) {
+            final AssociationEnd end = a.getTarget();
+            sb.append("\n\t").append(end.type().getName()).append(' ').append(end.role()).append(" [")
+              .append(CardinalityUtils.toString(end.min())).append("..").append(CardinalityUtils.toString(end.max()))
+              .append("];");
+        }
+        return sb.append("\n}").toString();
     }
 }
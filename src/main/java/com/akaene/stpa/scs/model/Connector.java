@@ -1,9 +1,7 @@
 package com.akaene.stpa.scs.model;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class Connector implements Stereotyped {
 
@@ -15,7 +13,11 @@ public class Connector implements Stereotyped {
 
     private final ConnectorEnd target;
 
-    private final List<Stereotype> stereotypes = new ArrayList<>();
+    private final StereotypeList stereotypes = new StereotypeList();
+
+    private boolean frozen;
+
+    private int hash;
 
     public Connector(String name, String qualifiedName, ConnectorEnd source, ConnectorEnd target) {
         this.name = name;
@@ -45,6 +47,21 @@ public class Connector implements Stereotyped {
         return stereotypes;
     }
 
+    /**
+     * Makes this connector unmodifiable.
+     *
+     * @return {@code false} if it has already been frozen, {@code true} otherwise
+     */
+    boolean freeze() {
+        if (frozen) {
+            return false;
+        }
+        this.frozen = true;
+        stereotypes.freeze();
+        this.hash = computeHashCode();
+        return true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -59,13 +76,19 @@ public class Connector implements Stereotyped {
 
     @Override
     public int hashCode() {
+        return frozen ? hash : computeHashCode();
+    }
+
+    private int computeHashCode() {
         return Objects.hash(getName(), getQualifiedName());
     }
 
     @Override
     public String toString() {
-        final String stereos = stereotypes.stream().map(Object::toString).collect(
-                Collectors.joining(","));
-        return "Connector{" + source + " - " + name + (!stereos.isBlank() ? " " + stereos : "") + " -> " + target + "}";
+        final StringBuilder sb = new StringBuilder("Connector{").append(source).append(" - ").append(name);
+        for (int i = 0; i < stereotypes.size(); i++) {
+            sb.append(i == 0 ? ' ' : ',').append(stereotypes.get(i));
+        }
+        return sb.append(" -> ").append(target).append('}').toString();
     }
 }
@@ -7,6 +7,8 @@ public class DiagramNode {
     private Integer width;
     private Integer height;
 
+    private boolean frozen;
+
     public DiagramNode() {}
 
     public DiagramNode(Integer x, Integer y, Integer width, Integer height) {
@@ -21,6 +23,7 @@ public class DiagramNode {
     }
 
     public void setX(Integer x) {
+        checkNotFrozen();
         this.x = x;
     }
 
@@ -29,6 +32,7 @@ public class DiagramNode {
     }
 
     public void setY(Integer y) {
+        checkNotFrozen();
         this.y = y;
     }
 
@@ -37,6 +41,7 @@ public class DiagramNode {
     }
 
     public void setWidth(Integer width) {
+        checkNotFrozen();
         this.width = width;
     }
 
@@ -45,6 +50,20 @@ public class DiagramNode {
     }
 
     public void setHeight(Integer height) {
+        checkNotFrozen();
         this.height = height;
     }
+
+    /**
+     * Makes this node unmodifiable.
+     */
+    void freeze() {
+        this.frozen = true;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Diagram node of a frozen model cannot be modified.");
+        }
+    }
 }
@@ -1,20 +1,41 @@
 package com.akaene.stpa.scs.model;
 
+import com.akaene.stpa.scs.export.TextModelExporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 public class Model {
 
+    /**
+     * Classes indexed by qualified name, or by name when they have no qualified name.
+     */
     private final Map<String, ComponentType> classes = new HashMap<>();
 
+    /**
+     * Classes indexed by name. When multiple classes have the same name, the first added one is indexed.
+     */
+    private final Map<String, ComponentType> classesByName = new HashMap<>();
+
+    /**
+     * Associations indexed by qualified name, or by name when they have no qualified name.
+     */
     private final Map<String, Association> associations = new HashMap<>();
 
+    /**
+     * Associations indexed by name. When multiple associations have the same name, the first added one is indexed.
+     */
+    private final Map<String, Association> associationsByName = new HashMap<>();
+
     private final Map<String, Stereotype> stereotypes = new HashMap<>();
 
     private final Collection<Connector> connectors = new HashSet<>();
@@ -23,30 +44,67 @@ public class Model {
 
     private String name;
 
+    /**
+     * Lazily built query index, discarded whenever the model is modified.
+     */
+    private volatile ModelIndex index;
+
+    private boolean frozen;
+
     public Collection<ComponentType> getClasses() {
-        return classes.values();
+        return Collections.unmodifiableCollection(classes.values());
     }
 
     public Model addClass(ComponentType cls) {
-        classes.put(cls.getName(), cls);
+        checkNotFrozen();
+        final ComponentType previous = classes.put(cls.getQualifiedName() != null ? cls.getQualifiedName() :
+                                                   cls.getName(), cls);
+        if (previous != null && !classesByName.replace(previous.getName(), previous, cls)) {
+            classesByName.remove(previous.getName(), previous);
+        }
+        classesByName.putIfAbsent(cls.getName(), cls);
         return this;
     }
 
+    /**
+     * Gets class with the specified name.
+     * <p>
+     * Classes in different packages may share the same name, in which case the first added one is returned. Use
+     * {@link #getClassByQualifiedName(String)} to get a specific class.
+     *
+     * @param name Name of the class
+     * @return Matching class, if present
+     */
     public Optional<ComponentType> getClass(String name) {
-        return Optional.ofNullable(classes.get(name));
+        return Optional.ofNullable(classesByName.get(name));
     }
 
     public Collection<Association> getAssociations() {
-        return associations.values();
+        return Collections.unmodifiableCollection(associations.values());
     }
 
     public Model addAssociation(Association association) {
-        associations.put(association.getName(), association);
+        checkNotFrozen();
+        final Association previous = associations.put(association.getQualifiedName() != null ?
+                                                      association.getQualifiedName() : association.getName(),
+                                                      association);
+        if (previous != null && !associationsByName.replace(previous.getName(), previous, association)) {
+            associationsByName.remove(previous.getName(), previous);
+        }
+        associationsByName.putIfAbsent(association.getName(), association);
         return this;
     }
 
+    /**
+     * Gets association with the specified name.
+     * <p>
+     * Associations in different packages may share the same name, in which case the first added one is returned.
+     *
+     * @param name Name of the association
+     * @return Matching association, if present
+     */
     public Optional<Association> getAssociation(String name) {
-        return Optional.ofNullable(associations.get(name));
+        return Optional.ofNullable(associationsByName.get(name));
     }
 
     public Collection<Connector> getConnectors() {
@@ -54,9 +112,11 @@ public class Model {
     }
 
     public Model addConnector(Connector connector) {
+        checkNotFrozen();
         connectors.add(connector);
         components.add(connector.getSource().type());
         components.add(connector.getTarget().type());
+        this.index = null;
         return this;
     }
 
@@ -65,15 +125,18 @@ public class Model {
     }
 
     public Model addComponent(Component component) {
+        checkNotFrozen();
         components.add(component);
+        this.index = null;
         return this;
     }
 
     public Collection<Stereotype> getStereotypes() {
-        return stereotypes.values();
+        return Collections.unmodifiableCollection(stereotypes.values());
     }
 
     public Model addStereotype(Stereotype stereotype) {
+        checkNotFrozen();
         stereotypes.put(stereotype.name(), stereotype);
         return this;
     }
@@ -82,22 +145,173 @@ public class Model {
         return Optional.ofNullable(stereotypes.get(name));
     }
 
+    /**
+     * Gets connectors whose source is the specified component.
+     *
+     * @param component Source component
+     * @return List of connectors, possibly empty
+     */
+    public List<Connector> getOutgoingConnectors(Component component) {
+        return index().getOutgoingConnectors(component);
+    }
+
+    /**
+     * Gets connectors whose target is the specified component.
+     *
+     * @param component Target component
+     * @return List of connectors, possibly empty
+     */
+    public List<Connector> getIncomingConnectors(Component component) {
+        return index().getIncomingConnectors(component);
+    }
+
+    /**
+     * Gets connectors with the specified stereotype.
+     *
+     * @param stereotype Connector stereotype
+     * @return List of connectors, possibly empty
+     */
+    public List<Connector> getConnectors(Stereotype stereotype) {
+        return index().getConnectors(stereotype);
+    }
+
+    /**
+     * Gets components whose parent is the specified component.
+     *
+     * @param parent Parent component
+     * @return List of child components, possibly empty
+     */
+    public List<Component> getChildren(Component parent) {
+        return index().getChildren(parent);
+    }
+
+    /**
+     * Gets class with the specified qualified name.
+     *
+     * @param qualifiedName Qualified name of the class
+     * @return Matching class, if present
+     */
+    public Optional<ComponentType> getClassByQualifiedName(String qualifiedName) {
+        return Optional.ofNullable(classes.get(qualifiedName))
+                       .filter(cls -> qualifiedName.equals(cls.getQualifiedName()));
+    }
+
+    /**
+     * Gets the query index, building it if necessary.
+     * <p>
+     * The index is built on the first query after the model has been modified. Note that changes to the model elements
+     * themselves (e.g., adding a stereotype to a connector already in the model) are not tracked.
+     */
+    private ModelIndex index() {
+        ModelIndex result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = new ModelIndex(components, connectors);
+                    this.index = result;
+                }
+            }
+        }
+        return result;
+    }
+
     public String getName() {
         return name;
     }
 
     public void setName(String name) {
+        checkNotFrozen();
         this.name = name;
     }
 
+    /**
+     * Makes this model and all its elements unmodifiable.
+     * <p>
+     * Any attempt to modify the frozen model or its elements (components, component types, connectors, associations,
+     * their stereotypes and diagram nodes) fails with {@link IllegalStateException}. Collections that are exposed as
+     * unmodifiable views regardless of freezing keep throwing {@link UnsupportedOperationException}. Hash codes of the
+     * elements and the query index are computed upfront, so a frozen model can be read by any number of threads
+     * without synchronization, provided it is published safely (e.g., via a concurrent collection, a
+     * {@code volatile} or {@code final} field).
+     * <p>
+     * Note that elements shared with other models (e.g., {@link ComponentType#UNSPECIFIED}) are frozen as well.
+     *
+     * @return This model, frozen
+     */
+    public Model freeze() {
+        if (frozen) {
+            return this;
+        }
+        final Deque<Object> toFreeze = new ArrayDeque<>(classes.values());
+        toFreeze.addAll(associations.values());
+        toFreeze.addAll(components);
+        toFreeze.addAll(connectors);
+        // Iterative traversal, element graphs (e.g., types via attributes) may be deep
+        while (!toFreeze.isEmpty()) {
+            switch (toFreeze.pop()) {
+                case ComponentType t when t.freeze() -> {
+                    toFreeze.addAll(t.getSuperTypes());
+                    toFreeze.addAll(t.getAttributes());
+                }
+                case Association a when a.freeze() -> {
+                    pushIfPresent(toFreeze, a.getSource().type());
+                    pushIfPresent(toFreeze, a.getTarget().type());
+                }
+                case Component c when c.freeze() -> {
+                    pushIfPresent(toFreeze, c.getType());
+                    pushIfPresent(toFreeze, c.getParent());
+                }
+                case Connector c when c.freeze() -> {
+                    pushIfPresent(toFreeze, c.getSource().type());
+                    pushIfPresent(toFreeze, c.getTarget().type());
+                }
+                default -> {
+                    // Already frozen
+                }
+            }
+        }
+        this.index = new ModelIndex(components, connectors);
+        this.frozen = true;
+        return this;
+    }
+
+    private static void pushIfPresent(Deque<Object> toFreeze, Object element) {
+        if (element != null) {
+            toFreeze.push(element);
+        }
+    }
+
+    /**
+     * Checks whether this model has been frozen.
+     *
+     * @return {@code true} if the model is unmodifiable, {@code false} otherwise
+     * @see #freeze()
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Frozen model cannot be modified.");
+        }
+    }
+
+    /**
+     * Returns a human-readable dump of this model.
+     * <p>
+     * For large models, prefer writing the dump directly to the output using {@link TextModelExporter}.
+     */
     @Override
     public String toString() {
-        return name + "\nClasses (" + classes.size() + "):\n" + classes.values().stream().map(Objects::toString).collect(
-                Collectors.joining("\n")) + "\n\n" +
-                "Associations (" + associations.size() + "):\n" + associations.values().stream().map(Object::toString)
-                                                                              .collect(
-                                                                                      Collectors.joining("\n")) + "\n\n" +
-                "Connectors (" + connectors.size() + "):\n" + connectors.stream().map(Objects::toString).collect(
-                Collectors.joining("\n"));
+        final StringBuilder sb = new StringBuilder();
+        try {
+            new TextModelExporter().export(this, sb);
+        } catch (IOException e) {
+            // Appending to a StringBuilder does not throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
     }
 }
@@ -0,0 +1,59 @@
+package com.akaene.stpa.scs.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adjacency indexes of a model, allowing to answer graph queries without scanning all the connectors or components.
+ * <p>
+ * The index is a snapshot of the model at the time it was built.
+ */
+class ModelIndex {
+
+    private final Map<Component, List<Connector>> outgoing = new HashMap<>();
+
+    private final Map<Component, List<Connector>> incoming = new HashMap<>();
+
+    private final Map<Stereotype, List<Connector>> connectorsByStereotype = new HashMap<>();
+
+    private final Map<Component, List<Component>> children = new HashMap<>();
+
+    ModelIndex(Collection<Component> components, Collection<Connector> connectors) {
+        for (Connector c : connectors) {
+            outgoing.computeIfAbsent(c.getSource().type(), k -> new ArrayList<>()).add(c);
+            incoming.computeIfAbsent(c.getTarget().type(), k -> new ArrayList<>()).add(c);
+            for (Stereotype s : c.getStereotypes()) {
+                connectorsByStereotype.computeIfAbsent(s, k -> new ArrayList<>()).add(c);
+            }
+        }
+        for (Component c : components) {
+            if (c.getParent() != null) {
+                children.computeIfAbsent(c.getParent(), k -> new ArrayList<>()).add(c);
+            }
+        }
+    }
+
+    List<Connector> getOutgoingConnectors(Component component) {
+        return unmodifiable(outgoing.get(component));
+    }
+
+    List<Connector> getIncomingConnectors(Component component) {
+        return unmodifiable(incoming.get(component));
+    }
+
+    List<Connector> getConnectors(Stereotype stereotype) {
+        return unmodifiable(connectorsByStereotype.get(stereotype));
+    }
+
+    List<Component> getChildren(Component parent) {
+        return unmodifiable(children.get(parent));
+    }
+
+    private static <T> List<T> unmodifiable(List<T> list) {
+        return list != null ? Collections.unmodifiableList(list) : List.of();
+    }
+}
@@ -0,0 +1,108 @@
+package com.akaene.stpa.scs.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Compact mutable list of stereotypes of a model element.
+ * <p>
+ * Most model elements have no or a single stereotype. This list stores no array in these cases and an array of the
+ * exact size otherwise, instead of the default capacity of an {@link java.util.ArrayList}.
+ * <p>
+ * The list becomes unmodifiable when the model it belongs to is frozen, modifications then fail with
+ * {@link IllegalStateException}.
+ */
+final class StereotypeList extends AbstractList<Stereotype> implements RandomAccess {
+
+    /**
+     * {@code null} when empty, the stereotype itself when there is exactly one, array of the stereotypes otherwise.
+     */
+    private Object elements;
+
+    private int size;
+
+    private boolean frozen;
+
+    /**
+     * Makes this list unmodifiable.
+     */
+    void freeze() {
+        this.frozen = true;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Stereotypes of a frozen model cannot be modified.");
+        }
+    }
+
+    @Override
+    public Stereotype get(int index) {
+        Objects.checkIndex(index, size);
+        return size == 1 ? (Stereotype) elements : ((Stereotype[]) elements)[index];
+    }
+
+    @Override
+    public Stereotype set(int index, Stereotype element) {
+        checkNotFrozen();
+        Objects.checkIndex(index, size);
+        final Stereotype previous;
+        if (size == 1) {
+            previous = (Stereotype) elements;
+            this.elements = element;
+        } else {
+            final Stereotype[] array = (Stereotype[]) elements;
+            previous = array[index];
+            array[index] = element;
+        }
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Stereotype element) {
+        checkNotFrozen();
+        Objects.checkIndex(index, size + 1);
+        switch (size) {
+            case 0 -> this.elements = element;
+            case 1 -> this.elements = index == 0 ? new Stereotype[]{element, (Stereotype) elements} :
+                                      new Stereotype[]{(Stereotype) elements, element};
+            default -> {
+                final Stereotype[] array = (Stereotype[]) elements;
+                final Stereotype[] grown = new Stereotype[size + 1];
+                System.arraycopy(array, 0, grown, 0, index);
+                grown[index] = element;
+                System.arraycopy(array, index, grown, index + 1, size - index);
+                this.elements = grown;
+            }
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Stereotype remove(int index) {
+        checkNotFrozen();
+        Objects.checkIndex(index, size);
+        final Stereotype removed = get(index);
+        switch (size) {
+            case 1 -> this.elements = null;
+            case 2 -> this.elements = ((Stereotype[]) elements)[1 - index];
+            default -> {
+                final Stereotype[] array = (Stereotype[]) elements;
+                final Stereotype[] shrunk = Arrays.copyOf(array, size - 1);
+                System.arraycopy(array, index + 1, shrunk, index, size - index - 1);
+                this.elements = shrunk;
+            }
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
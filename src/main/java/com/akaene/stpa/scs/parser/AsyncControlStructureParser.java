@@ -0,0 +1,157 @@
+package com.akaene.stpa.scs.parser;
+
+import com.akaene.stpa.scs.model.Model;
+
+import java.io.File;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Asynchronous counterpart of {@link ControlStructureParser}.
+ * <p>
+ * Parsing runs using the specified executor (virtual threads by default), so that the calling thread is not blocked.
+ * Cancelling the returned future interrupts the thread running the parser, which stops parsing as soon as possible.
+ * Note that cancelling a future derived from the returned one (e.g., via {@link CompletableFuture#thenApply(Function)})
+ * does not stop the parsing.
+ */
+public class AsyncControlStructureParser {
+
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = task -> Thread.ofVirtual()
+                                                                          .name("control-structure-parser")
+                                                                          .start(task);
+
+    private final Function<File, Model> parser;
+
+    private final ParseOptions options;
+
+    private final Executor executor;
+
+    /**
+     * Creates a parser running the specified parser on virtual threads.
+     *
+     * @param parser Parser to run
+     */
+    public AsyncControlStructureParser(ControlStructureParser parser) {
+        this(parser, VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * Creates a parser running the specified parser using the specified executor.
+     *
+     * @param parser   Parser to run
+     * @param executor Executor to run parsing with
+     */
+    public AsyncControlStructureParser(ControlStructureParser parser, Executor executor) {
+        this(Objects.requireNonNull(parser)::parse, parser.getOptions(), executor);
+    }
+
+    AsyncControlStructureParser(Function<File, Model> parser, ParseOptions options, Executor executor) {
+        this.parser = parser;
+        this.options = options;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Creates a parser finding the suitable parser for each file via {@link ControlStructureParsers}.
+     *
+     * @param executor Executor to run parsing with
+     * @return New asynchronous parser
+     */
+    public static AsyncControlStructureParser forAllSupportedFiles(Executor executor) {
+        return new AsyncControlStructureParser(ControlStructureParsers::parse, ParseOptions.all(), executor);
+    }
+
+    /**
+     * Creates a parser finding the suitable parser for each file via {@link ControlStructureParsers} and running it on
+     * virtual threads.
+     *
+     * @return New asynchronous parser
+     */
+    public static AsyncControlStructureParser forAllSupportedFiles() {
+        return forAllSupportedFiles(VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    /**
+     * Gets the specification of the model parts built by the underlying parser.
+     *
+     * @return Parse options of the underlying parser
+     * @see ControlStructureParser#getOptions()
+     */
+    public ParseOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Asynchronously parses control structure from the specified file.
+     * <p>
+     * The returned future completes exceptionally with {@link com.akaene.stpa.scs.exception.ControlStructureParserException}
+     * when parsing fails.
+     *
+     * @param input File containing serialized control structure model
+     * @return Future parsed model
+     * @see ControlStructureParser#parse(File)
+     */
+    public CompletableFuture<Model> parse(File input) {
+        Objects.requireNonNull(input);
+        final ParsingTask task = new ParsingTask(input);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.completeExceptionally(e);
+        }
+        return task;
+    }
+
+    /**
+     * Future whose cancellation interrupts the thread running the parsing.
+     */
+    private class ParsingTask extends CompletableFuture<Model> implements Runnable {
+
+        private final File input;
+
+        private Thread runner;
+
+        private ParsingTask(File input) {
+            this.input = input;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (isDone()) {
+                    return;
+                }
+                this.runner = Thread.currentThread();
+            }
+            try {
+                complete(parser.apply(input));
+            } catch (Throwable e) {
+                completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    this.runner = null;
+                }
+                if (isCancelled()) {
+                    // Do not leak interruption caused by the cancellation to subsequent tasks of the executor
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                synchronized (this) {
+                    if (runner != null) {
+                        runner.interrupt();
+                    }
+                }
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.akaene.stpa.scs.parser;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.io.ModelReader;
+import com.akaene.stpa.scs.io.ModelWriter;
+import com.akaene.stpa.scs.model.Model;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Control structure parser that caches parsed models.
+ * <p>
+ * Models are keyed by a SHA-256 digest of the input file content, the decorated parser and its options, the
+ * {@link ModelWriter} format version and the build of this library, so a model is reused regardless of the file name
+ * or location. Recently used models are kept in memory, bounded by the total size of their input files. Optionally,
+ * models are also stored in a local directory using {@link ModelWriter}, so that they survive restarts.
+ * <p>
+ * The build is identified by the project version and build timestamp filled in by Maven. When they are not available
+ * (e.g., when the resources are not processed by Maven), models parsed by different code cannot be told apart, so the
+ * disk cache is disabled.
+ * <p>
+ * The memory weight of a model is the size of its input file. This considerably underestimates the memory used by
+ * models parsed from compressed inputs (ZIP archives), so the maximum weight should leave room for that when caching
+ * them.
+ * <p>
+ * Note that only the content of the input file itself is part of the key. Changes to additional files the model
+ * depends on (e.g., profiles in the same directory) are not detected.
+ * <p>
+ * Cached models are shared by all callers, so they are {@linkplain Model#freeze() frozen}.
+ */
+public class CachingControlStructureParser implements ControlStructureParser {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingControlStructureParser.class);
+
+    static final String DISK_CACHE_FILE_EXTENSION = ".model";
+
+    private static final String BUILD_PROPERTIES = "build.properties";
+
+    /**
+     * Identifier of the build of this library, {@code null} if unknown.
+     */
+    private static final String BUILD_ID = loadBuildId();
+
+    private final ControlStructureParser decorated;
+
+    private final String parserVersion;
+
+    private final long maxMemoryWeight;
+
+    private final Path diskCacheDirectory;
+
+    private final Map<String, CacheEntry> memoryCache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long memoryWeight;
+
+    private final ConcurrentMap<String, CompletableFuture<Model>> inProgress = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a parser caching models in memory only.
+     *
+     * @param decorated       Parser used to parse models which are not cached
+     * @param maxMemoryWeight Maximum total size (in bytes) of input files whose models are kept in memory
+     */
+    public CachingControlStructureParser(ControlStructureParser decorated, long maxMemoryWeight) {
+        this(decorated, maxMemoryWeight, null);
+    }
+
+    /**
+     * Creates a parser caching models in memory and in the specified directory.
+     *
+     * @param decorated          Parser used to parse models which are not cached
+     * @param maxMemoryWeight    Maximum total size (in bytes) of input files whose models are kept in memory
+     * @param diskCacheDirectory Directory to store parsed models in, possibly {@code null} to disable the disk cache
+     * @throws ControlStructureParserException When the cache directory cannot be created
+     */
+    public CachingControlStructureParser(ControlStructureParser decorated, long maxMemoryWeight,
+                                         Path diskCacheDirectory) {
+        if (maxMemoryWeight < 0) {
+            throw new IllegalArgumentException("Maximum memory weight must not be negative.");
+        }
+        this.decorated = Objects.requireNonNull(decorated);
+        this.parserVersion = decorated.getClass().getName() + ":" + ModelWriter.VERSION + ":" +
+                Objects.requireNonNullElse(BUILD_ID, "unknown") + ":" + decorated.getOptions().parts();
+        this.maxMemoryWeight = maxMemoryWeight;
+        if (diskCacheDirectory != null && BUILD_ID == null) {
+            LOG.warn("Build of the parser is unknown, disk cache in {} is disabled.", diskCacheDirectory);
+            this.diskCacheDirectory = null;
+        } else {
+            this.diskCacheDirectory = diskCacheDirectory;
+        }
+        if (this.diskCacheDirectory != null) {
+            try {
+                Files.createDirectories(diskCacheDirectory);
+            } catch (IOException e) {
+                throw new ControlStructureParserException(
+                        "Unable to create cache directory " + diskCacheDirectory, e);
+            }
+        }
+    }
+
+    @Override
+    public Model parse(File input) {
+        return parse(input, () -> decorated.parse(input));
+    }
+
+    @Override
+    public Model parse(InputDescriptor input) {
+        return parse(input.file(), () -> decorated.parse(input));
+    }
+
+    private Model parse(File input, Supplier<Model> parser) {
+        final String key = computeKey(input);
+        final Model cached = getFromMemory(key);
+        if (cached != null) {
+            LOG.trace("Using cached model of file {}.", input.getName());
+            hits.increment();
+            return cached;
+        }
+        final CompletableFuture<Model> future = new CompletableFuture<>();
+        final CompletableFuture<Model> existing = inProgress.putIfAbsent(key, future);
+        if (existing != null) {
+            // Another thread is already parsing the same content
+            final Model result = await(existing);
+            hits.increment();
+            return result;
+        }
+        try {
+            final Model result = load(key, input, parser);
+            future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inProgress.remove(key, future);
+        }
+    }
+
+    private Model load(String key, File input, Supplier<Model> parser) {
+        // The model may have been cached after the first lookup
+        Model result = getFromMemory(key);
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        result = readFromDisk(key);
+        if (result != null) {
+            LOG.trace("Using model of file {} cached on disk.", input.getName());
+            diskHits.increment();
+        } else {
+            misses.increment();
+            result = parser.get();
+            writeToDisk(key, result);
+        }
+        result.freeze();
+        putToMemory(key, new CacheEntry(result, Math.max(1, input.length())));
+        return result;
+    }
+
+    private static String loadBuildId() {
+        try (final InputStream in = CachingControlStructureParser.class.getResourceAsStream(BUILD_PROPERTIES)) {
+            if (in == null) {
+                return null;
+            }
+            final Properties properties = new Properties();
+            properties.load(in);
+            final String version = properties.getProperty("version");
+            final String timestamp = properties.getProperty("timestamp");
+            if (version == null || timestamp == null || version.contains("${") || timestamp.contains("${")) {
+                // Not filtered
+                return null;
+            }
+            return version + "@" + timestamp;
+        } catch (IOException e) {
+            LOG.warn("Unable to read build properties.", e);
+            return null;
+        }
+    }
+
+    private static Model await(CompletableFuture<Model> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ControlStructureParserException("Parsing has been interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new ControlStructureParserException("Unable to parse model.", e.getCause());
+        }
+    }
+
+    private String computeKey(File input) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+        digest.update(parserVersion.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        try (final InputStream in = new DigestInputStream(Files.newInputStream(input.toPath()), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new ControlStructureParserException("Unable to read file " + input.getName(), e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Model getFromMemory(String key) {
+        synchronized (memoryCache) {
+            final CacheEntry entry = memoryCache.get(key);
+            return entry != null ? entry.model() : null;
+        }
+    }
+
+    private void putToMemory(String key, CacheEntry entry) {
+        if (entry.weight() > maxMemoryWeight) {
+            return;
+        }
+        synchronized (memoryCache) {
+            final CacheEntry previous = memoryCache.put(key, entry);
+            memoryWeight += entry.weight() - (previous != null ? previous.weight() : 0);
+            final Iterator<CacheEntry> it = memoryCache.values().iterator();
+            while (memoryWeight > maxMemoryWeight && it.hasNext()) {
+                memoryWeight -= it.next().weight();
+                it.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private Model readFromDisk(String key) {
+        if (diskCacheDirectory == null) {
+            return null;
+        }
+        final Path file = diskCacheDirectory.resolve(key + DISK_CACHE_FILE_EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return new ModelReader().read(file);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to read cached model {}, discarding it.", file, e);
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Model model) {
+        if (diskCacheDirectory == null) {
+            return;
+        }
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(diskCacheDirectory, key, ".tmp");
+            new ModelWriter().write(model, tempFile);
+            Files.move(tempFile, diskCacheDirectory.resolve(key + DISK_CACHE_FILE_EXTENSION),
+                       StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOG.warn("Unable to store model in cache directory {}.", diskCacheDirectory, e);
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Unable to delete file {}.", file, e);
+        }
+    }
+
+    @Override
+    public ParseOptions getOptions() {
+        return decorated.getOptions();
+    }
+
+    @Override
+    public boolean supports(File input) {
+        return decorated.supports(input);
+    }
+
+    @Override
+    public boolean supports(InputDescriptor input) {
+        return decorated.supports(input);
+    }
+
+    /**
+     * Gets statistics of this cache.
+     *
+     * @return Current cache statistics
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), diskHits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Cache statistics.
+     *
+     * @param hits      Number of models served from memory, including models parsed concurrently by another caller
+     * @param diskHits  Number of models read from the disk cache
+     * @param misses    Number of models that had to be parsed
+     * @param evictions Number of models evicted from memory
+     */
+    public record Statistics(long hits, long diskHits, long misses, long evictions) {
+    }
+
+    private record CacheEntry(Model model, long weight) {
+    }
+}
@@ -27,4 +27,39 @@ public interface ControlStructureParser {
      * @return {@code true} if the file type is supported by this parser, {@code false} otherwise
      */
     boolean supports(File input);
+
+    /**
+     * Parses control structure from the specified input.
+     * <p>
+     * Parsers may use the detected input format to avoid examining the file again.
+     *
+     * @param input Input file with detected format
+     * @return Parsed model
+     * @see #parse(File)
+     */
+    default Model parse(InputDescriptor input) {
+        return parse(input.file());
+    }
+
+    /**
+     * Checks whether this parser supports the specified input.
+     * <p>
+     * Parsers may use the detected input format to avoid examining the file again.
+     *
+     * @param input Input file with detected format
+     * @return {@code true} if the input is supported by this parser, {@code false} otherwise
+     * @see #supports(File)
+     */
+    default boolean supports(InputDescriptor input) {
+        return supports(input.file());
+    }
+
+    /**
+     * Gets the specification of the model parts built by this parser.
+     *
+     * @return Parse options of this parser, all the model parts by default
+     */
+    default ParseOptions getOptions() {
+        return ParseOptions.all();
+    }
 }
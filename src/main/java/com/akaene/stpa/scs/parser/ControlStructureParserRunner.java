@@ -1,27 +1,283 @@
 package com.akaene.stpa.scs.parser;
 
+import com.akaene.stpa.scs.export.JsonModelExporter;
+import com.akaene.stpa.scs.export.JsonWriter;
+import com.akaene.stpa.scs.export.TextModelExporter;
 import com.akaene.stpa.scs.model.Model;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Allows running control structure parsing as a standalone application.
+ * <p>
+ * Usage: {@code ControlStructureParserRunner [--threads N] [--format text|jsonl|json|summary] path...}
+ * <p>
+ * Each path is a model file, a directory (all files with supported extensions in its tree are parsed) or a glob
+ * pattern (e.g., {@code models/**.graphml}). Files are parsed in parallel by the specified number of threads (the
+ * number of processors by default) and the output is streamed as the files are parsed:
+ * <ul>
+ *     <li>{@code text} prints the parsed models,</li>
+ *     <li>{@code jsonl} prints a JSON object describing the result of parsing each file on a separate line,</li>
+ *     <li>{@code json} is the same as {@code jsonl}, but the JSON objects contain the whole parsed models,</li>
+ *     <li>{@code summary} prints a single line describing the result of parsing each file.</li>
+ * </ul>
+ * A per-file and aggregate timing and heap usage report is printed to the standard error output at the end. The exit
+ * status is {@code 1} when any of the files could not be parsed.
  */
 public class ControlStructureParserRunner {
 
+    private static final String THREADS_OPTION = "--threads";
+
+    private static final String FORMAT_OPTION = "--format";
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private static final long MEGABYTE = 1024 * 1024;
+
+    enum OutputFormat {
+        TEXT, JSONL, JSON, SUMMARY
+    }
+
+    private final BufferedWriter writer;
+
+    private final PrintStream err;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private OutputFormat format = OutputFormat.TEXT;
+
+    private final List<String> paths = new ArrayList<>();
+
+    private final List<FileTiming> timings = new ArrayList<>();
+
+    ControlStructureParserRunner(PrintStream out, PrintStream err) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.err = err;
+    }
+
     public static void main(String[] args) {
-        if (args.length != 1) {
-            throw new IllegalArgumentException("Expected exactly one argument");
+        final int status = new ControlStructureParserRunner(System.out, System.err).run(args);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Parses the files specified by the arguments and prints the results.
+     *
+     * @param args Command line arguments
+     * @return Exit status, {@code 0} if all the files were parsed successfully, {@code 1} otherwise
+     */
+    int run(String... args) {
+        parseArguments(args);
+        final List<Path> inputs = resolveInputs();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        final long start = System.nanoTime();
+        ControlStructureParsers.parseAllTimed(inputs.stream(), threads,
+                                              (result, duration) -> print(result, duration, inputs.size() > 1));
+        final Duration total = Duration.ofNanos(System.nanoTime() - start);
+        printReport(total);
+        return timings.stream().allMatch(FileTiming::success) ? 0 : 1;
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            final String arg = args[i];
+            if (arg.startsWith(THREADS_OPTION)) {
+                final String value = optionValue(args, arg.equals(THREADS_OPTION) ? ++i : -1, arg, THREADS_OPTION);
+                try {
+                    this.threads = Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number of threads " + value, e);
+                }
+                if (threads < 1) {
+                    throw new IllegalArgumentException("Number of threads must be positive.");
+                }
+            } else if (arg.startsWith(FORMAT_OPTION)) {
+                final String value = optionValue(args, arg.equals(FORMAT_OPTION) ? ++i : -1, arg, FORMAT_OPTION);
+                try {
+                    this.format = OutputFormat.valueOf(value.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unsupported output format " + value, e);
+                }
+            } else {
+                paths.add(arg);
+            }
         }
-        new ControlStructureParserRunner().parseAndPrint(args[0]);
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("Expected at least one file, directory or glob pattern.");
+        }
+    }
+
+    private static String optionValue(String[] args, int index, String arg, String option) {
+        if (index < 0) {
+            if (arg.charAt(option.length()) != '=') {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+            return arg.substring(option.length() + 1);
+        }
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of option " + option);
+        }
+        return args[index];
     }
 
-    private void parseAndPrint(String path) {
-        final File file = new File(path);
-        if (!file.exists()) {
-            throw new IllegalArgumentException("Specified path does not exist.");
+    private List<Path> resolveInputs() {
+        final Set<Path> inputs = new LinkedHashSet<>();
+        for (String path : paths) {
+            if (path.chars().anyMatch(c -> GLOB_CHARACTERS.indexOf(c) >= 0)) {
+                inputs.addAll(resolveGlob(path));
+                continue;
+            }
+            final Path p = Path.of(path).normalize();
+            if (Files.isDirectory(p)) {
+                inputs.addAll(walk(p, ControlStructureParsers::isModelFile));
+            } else if (Files.exists(p)) {
+                inputs.add(p);
+            } else {
+                throw new IllegalArgumentException("Specified path " + path + " does not exist.");
+            }
+        }
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("No files to parse found.");
         }
-        final Model model = ControlStructureParsers.parse(file);
-        System.out.println(model);
+        return new ArrayList<>(inputs);
+    }
+
+    private static List<Path> resolveGlob(String pattern) {
+        int firstGlob = 0;
+        while (GLOB_CHARACTERS.indexOf(pattern.charAt(firstGlob)) < 0) {
+            firstGlob++;
+        }
+        final int separator = Math.max(pattern.lastIndexOf('/', firstGlob),
+                                       pattern.lastIndexOf(File.separatorChar, firstGlob));
+        final Path base = separator >= 0 ? Path.of(pattern.substring(0, separator + 1)) : Path.of("");
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(separator + 1));
+        return walk(base, file -> matcher.matches(base.relativize(file)));
+    }
+
+    private static List<Path> walk(Path directory, Predicate<Path> filter) {
+        try (final Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).filter(filter).map(Path::normalize).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list files in " + directory, e);
+        }
+    }
+
+    private void print(ParsingResult result, Duration duration, boolean multipleInputs) {
+        timings.add(new FileTiming(result.input().toPath(), result.isSuccess(), duration));
+        try {
+            switch (format) {
+                case TEXT -> printText(result, multipleInputs);
+                case JSONL, JSON -> printJson(result, duration);
+                case SUMMARY -> writer.append(result.isSuccess() ?
+                                              String.format(Locale.ROOT, "OK     %6d ms  %s (%s)", duration.toMillis(),
+                                                            result.input(), describe(result.model())) :
+                                              String.format(Locale.ROOT, "FAILED %6d ms  %s: %s",
+                                                            duration.toMillis(), result.input(),
+                                                            result.error().getMessage()));
+            }
+            if (format != OutputFormat.TEXT) {
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write output.", e);
+        }
+    }
+
+    private void printText(ParsingResult result, boolean multipleInputs) throws IOException {
+        if (multipleInputs) {
+            writer.append("==> ").append(result.input().toString()).append(" <==");
+            writer.newLine();
+        }
+        if (result.isSuccess()) {
+            new TextModelExporter().export(result.model(), writer);
+            writer.newLine();
+        } else {
+            writer.flush();
+            err.println("Unable to parse " + result.input() + ": " + result.error().getMessage());
+        }
+    }
+
+    private static String describe(Model model) {
+        return model.getClasses().size() + " classes, " + model.getComponents().size() + " components, " +
+                model.getConnectors().size() + " connectors, " + model.getAssociations().size() + " associations";
+    }
+
+    private void printJson(ParsingResult result, Duration duration) throws IOException {
+        final JsonWriter json = new JsonWriter(writer);
+        json.beginObject().name("file").value(result.input().toString()).name("success").value(result.isSuccess())
+            .name("durationMs").value(duration.toMillis());
+        if (!result.isSuccess()) {
+            json.name("error").value(result.error().getMessage());
+        } else if (format == OutputFormat.JSON) {
+            json.name("model");
+            new JsonModelExporter().write(result.model(), json);
+        } else {
+            final Model model = result.model();
+            json.name("classes").value(model.getClasses().size())
+                .name("components").value(model.getComponents().size())
+                .name("connectors").value(model.getConnectors().size())
+                .name("associations").value(model.getAssociations().size())
+                .name("stereotypes").value(model.getStereotypes().size());
+        }
+        json.endObject();
+    }
+
+    private void printReport(Duration total) {
+        err.println();
+        err.println("Parsing times:");
+        timings.stream().sorted(Comparator.comparing(FileTiming::duration).reversed())
+               .forEach(t -> err.printf(Locale.ROOT, "  %6d ms  %s%s%n", t.duration().toMillis(), t.file(),
+                                        t.success() ? "" : " (failed)"));
+        final long failed = timings.stream().filter(t -> !t.success()).count();
+        final Duration sum = timings.stream().map(FileTiming::duration).reduce(Duration.ZERO, Duration::plus);
+        err.printf(Locale.ROOT, "Parsed %d files (%d failed) using %d threads in %d ms, total parsing time %d ms, " +
+                           "mean %d ms per file.%n", timings.size(), failed, threads, total.toMillis(), sum.toMillis(),
+                   sum.toMillis() / Math.max(1, timings.size()));
+        final long peak = ManagementFactory.getMemoryPoolMXBeans().stream()
+                                           .filter(pool -> pool.getType() == MemoryType.HEAP)
+                                           .mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        final MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long gcCount = 0;
+        long gcTime = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcTime += Math.max(0, gc.getCollectionTime());
+        }
+        err.printf(Locale.ROOT, "Heap: peak %d MB, used %d MB, committed %d MB, max %d MB, %d GCs taking %d ms.%n",
+                   peak / MEGABYTE, heap.getUsed() / MEGABYTE, heap.getCommitted() / MEGABYTE,
+                   heap.getMax() / MEGABYTE, gcCount, gcTime);
+    }
+
+    private record FileTiming(Path file, boolean success, Duration duration) {
     }
 }
@@ -1,11 +1,29 @@
 package com.akaene.stpa.scs.parser;
 
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
 import com.akaene.stpa.scs.model.Model;
 import com.akaene.stpa.scs.parser.graphml.GraphMLParser;
 import com.akaene.stpa.scs.parser.sysml.SysMLXMIParser;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Provides parsing of control structure for specified file.
@@ -20,6 +38,34 @@ public class ControlStructureParsers {
             new GraphMLParser()
     );
 
+    private static final Set<String> SUPPORTED_FILE_EXTENSIONS = Set.of("graphml", "xmi", "uml", "xml", "zip");
+
+    /**
+     * Suffix of names (without extension) of SysML profile files, which are not models themselves.
+     */
+    private static final String PROFILE_FILE_SUFFIX = ".profile";
+
+    /**
+     * Checks whether the specified file looks like a model file based on its name.
+     * <p>
+     * That is, whether it has an extension of files supported by the parsers and is not a SysML profile file. This
+     * allows to select model files (e.g., in a directory) without reading them. Whether a file can actually be parsed
+     * is determined by its content.
+     *
+     * @param file File to check
+     * @return {@code true} if the file name denotes a model file, {@code false} otherwise
+     */
+    public static boolean isModelFile(Path file) {
+        final Path fileName = file.getFileName();
+        if (fileName == null) {
+            return false;
+        }
+        final String name = fileName.toString().toLowerCase(Locale.ROOT);
+        final int dot = name.lastIndexOf('.');
+        return dot >= 0 && SUPPORTED_FILE_EXTENSIONS.contains(name.substring(dot + 1)) &&
+                !name.substring(0, dot).endsWith(PROFILE_FILE_SUFFIX);
+    }
+
     /**
      * Finds a suitable parser and uses it to parse system control structure from the specified file.
      *
@@ -27,8 +73,136 @@ public class ControlStructureParsers {
      * @return Model of system control structure read from the specified file
      */
     public static Model parse(File input) {
-        return parsers.stream().filter(p -> p.supports(input)).findFirst().map(p -> p.parse(input))
+        return parse(input, parsers);
+    }
+
+    /**
+     * Finds a suitable parser and uses it to parse the specified parts of system control structure from the specified
+     * file.
+     *
+     * @param input   File containing system model
+     * @param options Specification of the model parts to build
+     * @return Model of system control structure read from the specified file, containing only the requested parts
+     */
+    public static Model parse(File input, ParseOptions options) {
+        if (options.equals(ParseOptions.all())) {
+            return parse(input);
+        }
+        return parse(input, List.of(new SysMLXMIParser(false, options), new GraphMLParser(options)));
+    }
+
+    private static Model parse(File input, List<ControlStructureParser> parsers) {
+        final InputDescriptor descriptor = InputFormatDetector.detect(input);
+        return parsers.stream().filter(p -> p.supports(descriptor)).findFirst().map(p -> p.parse(descriptor))
                       .orElseThrow(
                               () -> new IllegalArgumentException("No parser found that would support file " + input));
     }
+
+    /**
+     * Parses system control structure from each of the specified files.
+     * <p>
+     * Files are parsed concurrently, at most {@code parallelism} at a time. Failure to parse a file does not affect
+     * parsing of the other files, it is reported in the corresponding result instead.
+     *
+     * @param inputs      Files containing system models
+     * @param parallelism Maximum number of files parsed at the same time
+     * @return List of parsing results, in the order of the inputs
+     */
+    public static List<ParsingResult> parseAll(Collection<File> inputs, int parallelism) {
+        final List<ParsingResult> results = new ArrayList<>(Collections.nCopies(inputs.size(), null));
+        parseAll(inputs.iterator(), parallelism, (index, result, duration) -> results.set(index, result));
+        return results;
+    }
+
+    /**
+     * Parses system control structure from each of the specified files.
+     * <p>
+     * Files are parsed concurrently, at most {@code parallelism} at a time. The input stream is consumed only as fast
+     * as the files are parsed. Results are passed to the consumer as soon as they are available, i.e., not necessarily in
+     * the order of the inputs. The consumer is never invoked concurrently.
+     * <p>
+     * The method returns once all the files are parsed.
+     *
+     * @param inputs      Paths to files containing system models
+     * @param parallelism Maximum number of files parsed at the same time
+     * @param consumer    Consumer of parsing results
+     */
+    public static void parseAll(Stream<Path> inputs, int parallelism, Consumer<ParsingResult> consumer) {
+        Objects.requireNonNull(consumer);
+        parseAll(inputs.map(Path::toFile).iterator(), parallelism,
+                 (index, result, duration) -> consumer.accept(result));
+    }
+
+    /**
+     * Same as {@link #parseAll(Stream, int, Consumer)}, additionally passing the time it took to parse each file to
+     * the consumer.
+     *
+     * @param inputs      Paths to files containing system models
+     * @param parallelism Maximum number of files parsed at the same time
+     * @param consumer    Consumer of parsing results and parsing durations
+     */
+    static void parseAllTimed(Stream<Path> inputs, int parallelism, BiConsumer<ParsingResult, Duration> consumer) {
+        Objects.requireNonNull(consumer);
+        parseAll(inputs.map(Path::toFile).iterator(), parallelism,
+                 (index, result, duration) -> consumer.accept(result, duration));
+    }
+
+    private static void parseAll(Iterator<File> inputs, int parallelism, IndexedResultConsumer consumer) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        final Semaphore permits = new Semaphore(parallelism);
+        final Object consumerLock = new Object();
+        final AtomicReference<VirtualMachineError> fatalError = new AtomicReference<>();
+        try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int index = 0;
+            while (inputs.hasNext()) {
+                final File input = inputs.next();
+                final int i = index++;
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        final long start = System.nanoTime();
+                        final ParsingResult result = parseSafely(input, ControlStructureParsers::parse);
+                        final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+                        synchronized (consumerLock) {
+                            consumer.accept(i, result, duration);
+                        }
+                    } catch (VirtualMachineError e) {
+                        fatalError.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ControlStructureParserException("Interrupted while parsing files.", e);
+        }
+        if (fatalError.get() != null) {
+            // Do not hide errors the application cannot recover from in a missing result
+            throw fatalError.get();
+        }
+    }
+
+    /**
+     * Parses the specified file, turning any failure except {@link VirtualMachineError} into a failed result.
+     */
+    static ParsingResult parseSafely(File input, Function<File, Model> parser) {
+        try {
+            return ParsingResult.success(input, parser.apply(input));
+        } catch (ControlStructureParserException e) {
+            return ParsingResult.failure(input, e);
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
+            return ParsingResult.failure(input, new ControlStructureParserException(
+                    "Unable to parse file " + input.getName(), e));
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedResultConsumer {
+        void accept(int index, ParsingResult result, Duration duration);
+    }
 }
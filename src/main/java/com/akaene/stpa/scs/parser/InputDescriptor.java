@@ -0,0 +1,19 @@
+package com.akaene.stpa.scs.parser;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * Input file together with its detected format.
+ *
+ * @param file   Input file
+ * @param format Format of the file
+ * @see InputFormatDetector#detect(File)
+ */
+public record InputDescriptor(File file, InputFormat format) {
+
+    public InputDescriptor {
+        Objects.requireNonNull(file);
+        Objects.requireNonNull(format);
+    }
+}
@@ -0,0 +1,29 @@
+package com.akaene.stpa.scs.parser;
+
+/**
+ * Format of a control structure model file.
+ *
+ * @see InputFormatDetector
+ */
+public enum InputFormat {
+    /**
+     * ZIP archive, expected to contain SysML XMI model and profiles.
+     */
+    ZIP,
+    /**
+     * SysML XMI produced by Enterprise Architect.
+     */
+    ENTERPRISE_ARCHITECT_XMI,
+    /**
+     * SysML XMI/UML readable by EMF (e.g., produced by Modelio).
+     */
+    XMI,
+    /**
+     * GraphML produced by yEd or yEd Live.
+     */
+    GRAPHML,
+    /**
+     * Unsupported format.
+     */
+    UNKNOWN
+}
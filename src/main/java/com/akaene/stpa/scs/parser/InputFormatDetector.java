@@ -0,0 +1,164 @@
+package com.akaene.stpa.scs.parser;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.metrics.ParsingMetrics;
+import com.akaene.stpa.scs.metrics.ParsingPhase;
+import com.akaene.stpa.scs.metrics.PhaseMeasurement;
+import com.akaene.stpa.scs.parser.graphml.GraphMLParser;
+import com.akaene.stpa.scs.parser.sysml.SysMLXMIParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.stream.Stream;
+
+/**
+ * Detects format of control structure model files.
+ * <p>
+ * Only a bounded prefix of the file is read, and it is read just once. The format is determined by the magic bytes (ZIP
+ * archives), the root element and the exporter documentation (Enterprise Architect XMI). When the content is not
+ * recognized, the format is determined by the file extension.
+ */
+public final class InputFormatDetector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InputFormatDetector.class);
+
+    /**
+     * Maximum number of bytes read from the input.
+     */
+    static final int PREFIX_SIZE = 64 * 1024;
+
+    private static final byte[][] ZIP_MAGIC_BYTES = {{'P', 'K', 3, 4}, {'P', 'K', 5, 6}};
+
+    private static final String GRAPHML_ROOT = "graphml";
+
+    private static final String XMI_DOCUMENTATION = "Documentation";
+
+    private static final String XMI_NAMESPACE_PREFIX = "http://www.omg.org/spec/XMI/";
+
+    private static final String EA_EXPORTER = "Enterprise Architect";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private InputFormatDetector() {
+        throw new AssertionError();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
+    }
+
+    /**
+     * Detects format of the specified file.
+     *
+     * @param input File to examine
+     * @return Input descriptor
+     * @throws ControlStructureParserException When the file cannot be read
+     */
+    public static InputDescriptor detect(File input) {
+        if (!input.isFile()) {
+            return new InputDescriptor(input, InputFormat.UNKNOWN);
+        }
+        try (final PhaseMeasurement ignored = ParsingMetrics.start(ParsingPhase.FORMAT_DETECTION, input.getName(),
+                                                                   input.length());
+             final InputStream in = Files.newInputStream(input.toPath())) {
+            return new InputDescriptor(input, detect(in, input.getName()));
+        } catch (IOException e) {
+            throw new ControlStructureParserException("Unable to determine format of file " + input.getName(), e);
+        }
+    }
+
+    /**
+     * Detects format of the specified content.
+     * <p>
+     * At most {@link #PREFIX_SIZE} bytes are read from the stream. The stream is not closed by this method.
+     *
+     * @param input    Content to examine
+     * @param fileName Name of the file with the content, used when the content is not recognized
+     * @return Detected format
+     * @throws IOException When the content cannot be read
+     */
+    public static InputFormat detect(InputStream input, String fileName) throws IOException {
+        final byte[] prefix = input.readNBytes(PREFIX_SIZE);
+        final InputFormat format = detect(prefix);
+        final InputFormat result = format != InputFormat.UNKNOWN ? format : detectByExtension(fileName);
+        LOG.trace("Detected format of file '{}' is {}.", fileName, result);
+        return result;
+    }
+
+    private static InputFormat detect(byte[] prefix) {
+        if (Stream.of(ZIP_MAGIC_BYTES).anyMatch(magic -> startsWith(prefix, magic))) {
+            return InputFormat.ZIP;
+        }
+        try {
+            final XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(prefix));
+            try {
+                return detectXml(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            // Not XML or the prefix ended before the format could be recognized
+            return InputFormat.UNKNOWN;
+        }
+    }
+
+    private static boolean startsWith(byte[] content, byte[] magic) {
+        if (content.length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (content[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static InputFormat detectXml(XMLStreamReader reader) throws XMLStreamException {
+        boolean root = true;
+        while (reader.hasNext()) {
+            if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            if (root && GRAPHML_ROOT.equals(reader.getLocalName())) {
+                return InputFormat.GRAPHML;
+            }
+            root = false;
+            if (isEnterpriseArchitectDocumentation(reader)) {
+                return InputFormat.ENTERPRISE_ARCHITECT_XMI;
+            }
+        }
+        return InputFormat.UNKNOWN;
+    }
+
+    private static boolean isEnterpriseArchitectDocumentation(XMLStreamReader reader) {
+        final String namespace = reader.getNamespaceURI();
+        return XMI_DOCUMENTATION.equals(reader.getLocalName()) && namespace != null &&
+                namespace.startsWith(XMI_NAMESPACE_PREFIX) &&
+                EA_EXPORTER.equals(reader.getAttributeValue(XMLConstants.NULL_NS_URI, "exporter"));
+    }
+
+    private static InputFormat detectByExtension(String fileName) {
+        if (fileName.endsWith(GraphMLParser.FILE_EXTENSION)) {
+            return InputFormat.GRAPHML;
+        }
+        if (Stream.of(SysMLXMIParser.SUPPORTED_FILE_EXTENSIONS).anyMatch(fileName::endsWith)) {
+            return InputFormat.XMI;
+        }
+        return InputFormat.UNKNOWN;
+    }
+}
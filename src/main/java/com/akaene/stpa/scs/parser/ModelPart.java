@@ -0,0 +1,36 @@
+package com.akaene.stpa.scs.parser;
+
+/**
+ * Part of a control structure model that can be requested from a parser.
+ *
+ * @see ParseOptions
+ */
+public enum ModelPart {
+    /**
+     * Classes (component types) and their generalizations (SysML).
+     */
+    CLASSES,
+    /**
+     * Attributes of classes, i.e., their parts and references (SysML). Requires {@link #CLASSES}.
+     */
+    ATTRIBUTES,
+    /**
+     * Associations between classes (SysML).
+     */
+    ASSOCIATIONS,
+    /**
+     * Connectors between components.
+     * <p>
+     * Components of SysML models are extracted from connector ends, so there are no components without connectors.
+     * Components of GraphML models are extracted from nodes regardless of this part.
+     */
+    CONNECTORS,
+    /**
+     * Stereotypes and their applications to model elements.
+     */
+    STEREOTYPES,
+    /**
+     * Position and size of components in diagrams (GraphML).
+     */
+    DIAGRAM_GEOMETRY
+}
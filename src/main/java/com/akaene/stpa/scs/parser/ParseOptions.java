@@ -0,0 +1,89 @@
+package com.akaene.stpa.scs.parser;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Specifies which parts of a control structure model should be built by a parser.
+ * <p>
+ * Extraction phases producing parts that are not requested are skipped entirely, so that clients needing only, e.g.,
+ * components and connectors do not pay for extraction of class attributes and associations.
+ *
+ * @param parts Requested model parts
+ */
+public record ParseOptions(Set<ModelPart> parts) {
+
+    private static final ParseOptions ALL = new ParseOptions(EnumSet.allOf(ModelPart.class));
+
+    private static final ParseOptions CONTROL_STRUCTURE = new ParseOptions(
+            EnumSet.of(ModelPart.CLASSES, ModelPart.CONNECTORS, ModelPart.STEREOTYPES, ModelPart.DIAGRAM_GEOMETRY));
+
+    public ParseOptions {
+        parts = Collections.unmodifiableSet(parts.isEmpty() ? EnumSet.noneOf(ModelPart.class) : EnumSet.copyOf(parts));
+    }
+
+    /**
+     * Options requesting the complete model.
+     *
+     * @return Options with all the model parts
+     */
+    public static ParseOptions all() {
+        return ALL;
+    }
+
+    /**
+     * Options requesting only the control structure itself, i.e., components typed by classes, connectors between
+     * them, their stereotypes and diagram geometry.
+     * <p>
+     * Class attributes and associations are not extracted.
+     *
+     * @return Options for control structure extraction
+     */
+    public static ParseOptions controlStructure() {
+        return CONTROL_STRUCTURE;
+    }
+
+    /**
+     * Options requesting the specified model parts.
+     *
+     * @param parts Requested model parts
+     * @return New options
+     */
+    public static ParseOptions of(ModelPart... parts) {
+        final Set<ModelPart> set = EnumSet.noneOf(ModelPart.class);
+        Collections.addAll(set, parts);
+        return new ParseOptions(set);
+    }
+
+    /**
+     * Creates options requesting the same parts as these options, except for the specified ones.
+     *
+     * @param excluded Parts not to request
+     * @return New options
+     */
+    public ParseOptions without(ModelPart... excluded) {
+        final Set<ModelPart> set = EnumSet.noneOf(ModelPart.class);
+        set.addAll(parts);
+        for (ModelPart p : excluded) {
+            set.remove(Objects.requireNonNull(p));
+        }
+        return new ParseOptions(set);
+    }
+
+    /**
+     * Checks whether the specified model part is requested.
+     * <p>
+     * {@link ModelPart#ATTRIBUTES} are considered requested only when {@link ModelPart#CLASSES} are requested as well.
+     *
+     * @param part Model part
+     * @return {@code true} if the part should be built, {@code false} otherwise
+     */
+    public boolean includes(ModelPart part) {
+        if (part == ModelPart.ATTRIBUTES && !parts.contains(ModelPart.CLASSES)) {
+            return false;
+        }
+        return parts.contains(part);
+    }
+}
@@ -0,0 +1,56 @@
+package com.akaene.stpa.scs.parser;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.model.Model;
+
+import java.io.File;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Result of parsing a single file in a batch.
+ * <p>
+ * Exactly one of {@code model} and {@code error} is set.
+ *
+ * @param input File that was parsed
+ * @param model Parsed model, {@code null} if parsing failed
+ * @param error Parsing error, {@code null} if parsing succeeded
+ */
+public record ParsingResult(File input, Model model, ControlStructureParserException error) {
+
+    public ParsingResult {
+        Objects.requireNonNull(input);
+        if ((model == null) == (error == null)) {
+            throw new IllegalArgumentException("Exactly one of model and error must be specified.");
+        }
+    }
+
+    public static ParsingResult success(File input, Model model) {
+        return new ParsingResult(input, Objects.requireNonNull(model), null);
+    }
+
+    public static ParsingResult failure(File input, ControlStructureParserException error) {
+        return new ParsingResult(input, null, Objects.requireNonNull(error));
+    }
+
+    public boolean isSuccess() {
+        return model != null;
+    }
+
+    public Optional<Model> getModel() {
+        return Optional.ofNullable(model);
+    }
+
+    /**
+     * Gets the parsed model or throws the parsing error.
+     *
+     * @return Parsed model
+     * @throws ControlStructureParserException When parsing failed
+     */
+    public Model getModelOrThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return model;
+    }
+}
@@ -2,9 +2,6 @@ package com.akaene.stpa.scs.parser.graphml;
 
 import com.akaene.stpa.scs.model.Component;
 import com.akaene.stpa.scs.model.DiagramNode;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,71 +20,66 @@ class DesktopGraphMLReader extends GraphMLReader {
 
     private static final Logger LOG = LoggerFactory.getLogger(DesktopGraphMLReader.class);
 
-    public List<Node> readNodes(Document document) {
-        final Elements nodeElements = document.select("node");
+    public List<Node> readNodes(GraphMLContent content) {
+        final List<NodeElement> nodeElements = content.nodes();
         final Map<String, Node> nodeMap = new HashMap<>(nodeElements.size());
-        nodeElements.stream().filter(n -> !n.select("y|Shape[type=\"rectangle\"]").isEmpty())
-                           .map(n -> {
-                               final String id = n.id();
-                               final String label = selectElementLabels(n);
-                               if (label.isBlank()) {
-                                   LOG.warn("Node with id {} has no label.", id);
-                                   return null;
-                               }
-                               final Component component = new Component(label, id, null);
-                               component.setDiagramNode(extractDiagramNode(n));
-                               return new Node(id, label, component);
-                           }).filter(Objects::nonNull)
-                .forEach(n -> nodeMap.put(n.id(), n));
+        nodeElements.stream().filter(n -> n.rectangle)
+                    .map(n -> {
+                        final String id = n.getId();
+                        final String label = selectElementLabels(n);
+                        if (label.isBlank()) {
+                            LOG.warn("Node with id {} has no label.", id);
+                            return null;
+                        }
+                        final Component component = new Component(label, id, null);
+                        component.setDiagramNode(extractDiagramNode(n));
+                        return new Node(id, label, component);
+                    }).filter(Objects::nonNull)
+                    .forEach(n -> nodeMap.put(n.id(), n));
         connectChildrenToParents(nodeMap);
         return new ArrayList<>(nodeMap.values());
     }
 
-    private static String selectElementLabels(Element elem) {
-        if (!elem.select("graph").isEmpty()) {
-            final Elements labels = elem.select("y|NodeLabel");
-            if (!labels.isEmpty()) {
-                return labels.getFirst().text().trim();
+    private static String selectElementLabels(NodeElement elem) {
+        if (elem.group) {
+            if (!elem.nodeLabels.isEmpty()) {
+                return elem.nodeLabels.getFirst();
             }
             return "";
         } else {
-            return elem.select("y|NodeLabel").stream()
-                       .map(e -> e.text().trim())
-                       .filter(s -> !s.isEmpty())
-                       .collect(Collectors.joining(" "))
-                       .replace('\n', ' ').trim();
+            return elem.nodeLabels.stream()
+                                  .filter(s -> !s.isEmpty())
+                                  .collect(Collectors.joining(" "))
+                                  .replace('\n', ' ').trim();
         }
     }
 
-    private DiagramNode extractDiagramNode(Element node) {
-        final Element geometry = node.select("y|Geometry").first();
+    private DiagramNode extractDiagramNode(NodeElement node) {
+        final String[] geometry = node.geometry;
         if (geometry == null) {
             return null;
         }
         try {
-            final float x = Float.parseFloat(geometry.attr("x"));
-            final float y = Float.parseFloat(geometry.attr("y"));
-            final float width = Float.parseFloat(geometry.attr("width"));
-            final float height = Float.parseFloat(geometry.attr("height"));
+            final float x = Float.parseFloat(geometry[0]);
+            final float y = Float.parseFloat(geometry[1]);
+            final float width = Float.parseFloat(geometry[2]);
+            final float height = Float.parseFloat(geometry[3]);
             return new DiagramNode(Math.round(x), Math.round(y), Math.round(width), Math.round(height));
         } catch (NumberFormatException e) {
-            LOG.error("Unable to extract geometry of node {}.", geometry, e);
+            LOG.error("Unable to extract geometry of node {}.", node.getId(), e);
             return null;
         }
     }
 
     @Override
-    List<String> getLabelItems(Element edge) {
-        final Elements labels = edge.select("y|EdgeLabel");
-        String label = labels.stream().map(l -> l.wholeText().trim()).filter(s -> !s.isEmpty())
-                             .collect(Collectors.joining("\n"));
+    List<String> getLabelItems(EdgeElement edge) {
+        String label = edge.edgeLabels.stream().filter(s -> !s.isEmpty()).collect(Collectors.joining("\n"));
         return label.isBlank() ? List.of() : List.of(label.split("\n"));
     }
 
     @Override
-    Optional<GraphMLParser.EdgeStereotype> edgeToStereotype(Element edge) {
-        final String lineType = edge.select("y|LineStyle").attr("type");
-        switch (lineType) {
+    Optional<GraphMLParser.EdgeStereotype> edgeToStereotype(EdgeElement edge) {
+        switch (edge.lineType) {
             case "line":
                 return Optional.of(GraphMLParser.EdgeStereotype.ControlAction);
             case "dashed":
@@ -95,7 +87,7 @@ class DesktopGraphMLReader extends GraphMLReader {
             case "dotted":
                 return Optional.of(GraphMLParser.EdgeStereotype.AdditionalInfo);
         }
-        LOG.debug("Edge {} is of no matching stereotyped type.", edge);
+        LOG.debug("Edge {} is of no matching stereotyped type.", edge.getId());
         return Optional.empty();
     }
 }
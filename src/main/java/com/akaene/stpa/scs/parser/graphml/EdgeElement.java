@@ -0,0 +1,48 @@
+package com.akaene.stpa.scs.parser.graphml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data captured for a GraphML edge.
+ */
+class EdgeElement extends GraphMLElement {
+
+    private final String source;
+
+    private final String target;
+
+    /**
+     * Whole texts of {@literal y:EdgeLabel} elements (yEd).
+     */
+    final List<String> edgeLabels = new ArrayList<>(1);
+
+    /**
+     * Type of the first {@literal y:LineStyle} element specifying it (yEd).
+     */
+    String lineType = "";
+
+    /**
+     * Whether the edge contains a {@literal yjs:Stroke} element (yEd Live).
+     */
+    boolean stroke;
+
+    /**
+     * Dash style of the first {@literal yjs:Stroke} element specifying it (yEd Live).
+     */
+    String dashStyle;
+
+    EdgeElement(String id, String source, String target, int depth) {
+        super(id, depth);
+        this.source = source;
+        this.target = target;
+    }
+
+    String getSource() {
+        return source;
+    }
+
+    String getTarget() {
+        return target;
+    }
+}
@@ -0,0 +1,13 @@
+package com.akaene.stpa.scs.parser.graphml;
+
+import java.util.List;
+
+/**
+ * Content of a GraphML document captured in a single pass.
+ *
+ * @param sourceType Tool that produced the document
+ * @param nodes      Nodes in document order
+ * @param edges      Edges in document order
+ */
+record GraphMLContent(GraphMLParser.SourceType sourceType, List<NodeElement> nodes, List<EdgeElement> edges) {
+}
@@ -0,0 +1,43 @@
+package com.akaene.stpa.scs.parser.graphml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data captured for a GraphML element (node, edge) while streaming through a GraphML document.
+ * <p>
+ * Only the information needed by {@link GraphMLReader}s is kept, so that the document itself need not be held in
+ * memory.
+ */
+abstract class GraphMLElement {
+
+    private final String id;
+
+    /**
+     * Depth of the element in the document, used to resolve child relationships.
+     */
+    private final int depth;
+
+    /**
+     * Texts of {@literal data > x:List > y:Label > y:Label.Text} children (yEd Live).
+     */
+    final List<String> labelTexts = new ArrayList<>(1);
+
+    /**
+     * {@literal Text} attribute values of {@literal data > x:List > y:Label} children (yEd Live).
+     */
+    final List<String> labelAttributes = new ArrayList<>(1);
+
+    GraphMLElement(String id, int depth) {
+        this.id = id;
+        this.depth = depth;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+}
@@ -1,23 +1,33 @@
 package com.akaene.stpa.scs.parser.graphml;
 
 import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.metrics.ParsingMetrics;
+import com.akaene.stpa.scs.metrics.ParsingPhase;
+import com.akaene.stpa.scs.metrics.PhaseMeasurement;
 import com.akaene.stpa.scs.model.Connector;
 import com.akaene.stpa.scs.model.Model;
 import com.akaene.stpa.scs.model.Stereotype;
 import com.akaene.stpa.scs.parser.ControlStructureParser;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.parser.Parser;
+import com.akaene.stpa.scs.parser.InputDescriptor;
+import com.akaene.stpa.scs.parser.InputFormat;
+import com.akaene.stpa.scs.parser.ModelPart;
+import com.akaene.stpa.scs.parser.ParseOptions;
+import com.akaene.stpa.scs.util.StringPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+
+import static com.akaene.stpa.scs.util.InterruptionUtils.checkInterrupted;
 
 /**
  * Control structure parser for GraphML files (produced by yEd).
@@ -36,62 +46,97 @@ public class GraphMLParser implements ControlStructureParser {
 
     public static final String FILE_EXTENSION = ".graphml";
 
+    private final ParseOptions options;
+
+    public GraphMLParser() {
+        this(ParseOptions.all());
+    }
+
+    /**
+     * Creates a parser building only the specified parts of the model.
+     * <p>
+     * Content of the parts that are not requested (e.g., node geometry or edges) is not read from the document at all.
+     *
+     * @param options Specification of the model parts to build
+     */
+    public GraphMLParser(ParseOptions options) {
+        this.options = Objects.requireNonNull(options);
+    }
+
     @Override
     public Model parse(File input) {
         LOG.debug("Parsing input using {}.", getClass().getSimpleName());
-        final Document document = readDocument(input);
-        final ParsingState state = new ParsingState();
-        final SourceType sourceType = resolveSourceType(document);
-        readNodes(document, sourceType).forEach(n -> {
-            state.nodes.put(n.id(), n);
-            state.result.addComponent(n.component());
-        });
-        readConnectors(state, document, sourceType).forEach(state.result::addConnector);
+        final GraphMLContent content = readContent(input);
+        checkInterrupted();
+        final ParsingState state = new ParsingState(options.includes(ModelPart.STEREOTYPES));
+        final GraphMLReader reader = switch (content.sourceType()) {
+            case DESKTOP -> new DesktopGraphMLReader();
+            case ONLINE -> new OnlineGraphMLReader();
+        };
+        try (final PhaseMeasurement m = startPhase(ParsingPhase.GRAPHML_NODE_READING, input)) {
+            final List<Node> nodes = readNodes(reader, content);
+            nodes.forEach(n -> {
+                state.nodes.put(n.id(), n);
+                state.result.addComponent(n.component());
+            });
+            m.setElementCount(nodes.size());
+        }
+        checkInterrupted();
+        if (!options.includes(ModelPart.CONNECTORS)) {
+            return state.result;
+        }
+        try (final PhaseMeasurement m = startPhase(ParsingPhase.GRAPHML_EDGE_READING, input)) {
+            final List<Connector> connectors = readConnectors(reader, state, content);
+            connectors.forEach(state.result::addConnector);
+            m.setElementCount(connectors.size());
+        }
         return state.result;
     }
 
-    private Document readDocument(File file) {
-        try {
-            return Jsoup.parse(file, StandardCharsets.UTF_8.name(), "", Parser.xmlParser());
-        } catch (IOException e) {
-            throw new ControlStructureParserException("Unable to parse file " + file.getName(), e);
-        }
+    private static PhaseMeasurement startPhase(ParsingPhase phase, File input) {
+        return ParsingMetrics.start(phase, input.getName(), input.length());
     }
 
-    private SourceType resolveSourceType(Document document) {
-        final Element jsonNode = document.select("graph y|Json").first();
-        if (jsonNode == null) {
-            return SourceType.DESKTOP;
+    private GraphMLContent readContent(File file) {
+        try (final PhaseMeasurement m = startPhase(ParsingPhase.GRAPHML_CONTENT_READING, file);
+             final InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            final GraphMLContent content = new GraphMLStreamReader(options.includes(ModelPart.DIAGRAM_GEOMETRY),
+                                                                   options.includes(ModelPart.CONNECTORS)).read(in);
+            m.setElementCount(content.nodes().size() + content.edges().size());
+            return content;
+        } catch (IOException | XMLStreamException e) {
+            throw new ControlStructureParserException("Unable to parse file " + file.getName(), e);
         }
-        return jsonNode.text().contains("yed-live") ? SourceType.ONLINE : SourceType.DESKTOP;
     }
 
-    private List<Node> readNodes(Document document, SourceType sourceType) {
-        final GraphMLReader reader = switch (sourceType) {
-            case DESKTOP -> new DesktopGraphMLReader();
-            case ONLINE -> new OnlineGraphMLReader();
-        };
-        final List<Node> nodes = reader.readNodes(document);
+    private List<Node> readNodes(GraphMLReader reader, GraphMLContent content) {
+        final List<Node> nodes = reader.readNodes(content);
         LOG.trace("Found {} nodes.", nodes.size());
         return nodes;
     }
 
-    private List<Connector> readConnectors(ParsingState state, Document document, SourceType sourceType) {
-        final GraphMLReader reader = switch (sourceType) {
-            case DESKTOP -> new DesktopGraphMLReader();
-            case ONLINE -> new OnlineGraphMLReader();
-        };
-        final List<Connector> connectors = reader.readConnectors(state, document);
+    private List<Connector> readConnectors(GraphMLReader reader, ParsingState state, GraphMLContent content) {
+        final List<Connector> connectors = reader.readConnectors(state, content);
         LOG.trace("Found {} connectors.", connectors.size());
         return connectors;
     }
 
+    @Override
+    public ParseOptions getOptions() {
+        return options;
+    }
+
     @Override
     public boolean supports(File input) {
         return input.exists() && input.getName().endsWith(FILE_EXTENSION);
     }
 
-    private enum SourceType {
+    @Override
+    public boolean supports(InputDescriptor input) {
+        return input.format() == InputFormat.GRAPHML;
+    }
+
+    enum SourceType {
         DESKTOP, ONLINE
     }
 
@@ -118,9 +163,19 @@ public class GraphMLParser implements ControlStructureParser {
 
         final Map<String, Node> nodes = new HashMap<>();
 
-        private ParsingState() {
-            for (EdgeStereotype es : EdgeStereotype.values()) {
-                result.addStereotype(es.getStereotype());
+        final StringPool strings = new StringPool();
+
+        /**
+         * Whether to assign stereotypes to connectors.
+         */
+        final boolean stereotypes;
+
+        private ParsingState(boolean stereotypes) {
+            this.stereotypes = stereotypes;
+            if (stereotypes) {
+                for (EdgeStereotype es : EdgeStereotype.values()) {
+                    result.addStereotype(es.getStereotype());
+                }
             }
         }
     }
@@ -2,9 +2,6 @@ package com.akaene.stpa.scs.parser.graphml;
 
 import com.akaene.stpa.scs.model.Connector;
 import com.akaene.stpa.scs.model.ConnectorEnd;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,41 +11,41 @@ import java.util.Map;
 import java.util.Optional;
 
 /**
- * Reads elements (nodes, edges) from a GraphML document.
+ * Reads elements (nodes, edges) from GraphML document content.
  */
 abstract class GraphMLReader {
 
     private static final Logger LOG = LoggerFactory.getLogger(GraphMLReader.class);
 
     /**
-     * Reads nodes from the specified GraphML document.
+     * Reads nodes from the specified GraphML document content.
      *
-     * @param document Document to read nodes from
+     * @param content Document content to read nodes from
      * @return List of nodes read from the document
      */
-    abstract List<Node> readNodes(Document document);
+    abstract List<Node> readNodes(GraphMLContent content);
 
     /**
-     * Reads connectors from the specified GraphML document.
+     * Reads connectors from the specified GraphML document content.
      *
-     * @param state    Current state of the model, contains nodes read from the document
-     * @param document Document to read connectors from
+     * @param state   Current state of the model, contains nodes read from the document
+     * @param content Document content to read connectors from
      * @return List of connectors read from the document
      */
-    List<Connector> readConnectors(GraphMLParser.ParsingState state, Document document) {
-        final Elements edges = document.select("edge");
+    List<Connector> readConnectors(GraphMLParser.ParsingState state, GraphMLContent content) {
         final List<Connector> connectors = new ArrayList<>();
-        edges.forEach(e -> {
-            final String id = e.id();
-            final Node source = state.nodes.get(e.attr("source"));
-            final Node target = state.nodes.get(e.attr("target"));
+        content.edges().forEach(e -> {
+            final String id = e.getId();
+            final Node source = state.nodes.get(e.getSource());
+            final Node target = state.nodes.get(e.getTarget());
             if (source == null || target == null) {
                 LOG.error("Edge {} is missing resolved source or target node.", id);
                 return;
             }
-            final Optional<GraphMLParser.EdgeStereotype> stereotype = edgeToStereotype(e);
+            final Optional<GraphMLParser.EdgeStereotype> stereotype = state.stereotypes ? edgeToStereotype(e) :
+                                                                      Optional.empty();
             for (String labelItem : getLabelItems(e)) {
-                final Connector connector = new Connector(labelItem.trim(), id,
+                final Connector connector = new Connector(state.strings.intern(labelItem.trim()), id,
                                                           new ConnectorEnd(source.component(), null, null, null),
                                                           new ConnectorEnd(target.component(), null, null, null));
                 stereotype.ifPresent(s -> connector.addStereotype(s.getStereotype()));
@@ -58,9 +55,9 @@ abstract class GraphMLReader {
         return connectors;
     }
 
-    abstract List<String> getLabelItems(Element edge);
+    abstract List<String> getLabelItems(EdgeElement edge);
 
-    abstract Optional<GraphMLParser.EdgeStereotype> edgeToStereotype(Element edge);
+    abstract Optional<GraphMLParser.EdgeStereotype> edgeToStereotype(EdgeElement edge);
 
     static void connectChildrenToParents(Map<String, Node> nodeMap) {
         nodeMap.forEach((id, node) -> {
@@ -0,0 +1,334 @@
+package com.akaene.stpa.scs.parser.graphml;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads GraphML documents in a single pass using StAX.
+ * <p>
+ * The reader does not build a document tree. Instead, it captures only the data relevant for control structure
+ * extraction for each node and edge. Content not needed by the parser (e.g., embedded JSON or images) is skipped.
+ */
+class GraphMLStreamReader {
+
+    private static final String YED_LIVE_MARKER = "yed-live";
+
+    /**
+     * Makes the JDK StAX implementation report CDATA sections as separate events.
+     */
+    private static final String REPORT_CDATA_PROPERTY = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    /**
+     * Whether to capture node geometry.
+     */
+    private final boolean readGeometry;
+
+    /**
+     * Whether to capture edges.
+     */
+    private final boolean readEdges;
+
+    private final List<String> path = new ArrayList<>();
+
+    private final Deque<NodeElement> openNodes = new ArrayDeque<>();
+
+    private final List<NodeElement> nodes = new ArrayList<>();
+
+    private final List<EdgeElement> edges = new ArrayList<>();
+
+    private EdgeElement currentEdge;
+
+    private int graphDepth;
+
+    private GraphMLParser.SourceType sourceType;
+
+    private StringBuilder sourceTypeWindow;
+
+    private int sourceTypeDepth;
+
+    private StringBuilder text;
+
+    private boolean normalizeText;
+
+    private int textDepth;
+
+    private Consumer<String> textConsumer;
+
+    GraphMLStreamReader() {
+        this(true, true);
+    }
+
+    /**
+     * Creates a reader capturing only the specified content.
+     *
+     * @param readGeometry Whether to capture geometry of nodes
+     * @param readEdges    Whether to capture edges
+     */
+    GraphMLStreamReader(boolean readGeometry, boolean readEdges) {
+        this.readGeometry = readGeometry;
+        this.readEdges = readEdges;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        if (factory.isPropertySupported(REPORT_CDATA_PROPERTY)) {
+            factory.setProperty(REPORT_CDATA_PROPERTY, true);
+        }
+        return factory;
+    }
+
+    /**
+     * Reads the specified GraphML input.
+     * <p>
+     * Note that an instance of this class is meant to be used for reading a single document.
+     *
+     * @param input Input stream containing GraphML document
+     * @return Content read from the document
+     * @throws XMLStreamException When the input cannot be read
+     */
+    GraphMLContent read(InputStream input) throws XMLStreamException {
+        final XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> startElement(reader);
+                    case XMLStreamConstants.END_ELEMENT -> endElement();
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE -> characters(reader, false);
+                    case XMLStreamConstants.CDATA -> characters(reader, true);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return new GraphMLContent(sourceType != null ? sourceType : GraphMLParser.SourceType.DESKTOP, nodes, edges);
+    }
+
+    private void startElement(XMLStreamReader reader) {
+        final String name = qualifiedName(reader);
+        path.add(name);
+        final int depth = path.size();
+        switch (name) {
+            case "node" -> {
+                final NodeElement node = new NodeElement(attribute(reader, "id"), depth);
+                openNodes.push(node);
+                nodes.add(node);
+            }
+            case "edge" -> {
+                if (!readEdges) {
+                    return;
+                }
+                this.currentEdge = new EdgeElement(attribute(reader, "id"), attribute(reader, "source"),
+                                                   attribute(reader, "target"), depth);
+                edges.add(currentEdge);
+            }
+            case "graph" -> {
+                graphDepth++;
+                openNodes.forEach(n -> n.group = true);
+            }
+            case "y:Shape" -> {
+                if ("rectangle".equalsIgnoreCase(attribute(reader, "type").trim())) {
+                    openNodes.forEach(n -> n.rectangle = true);
+                }
+            }
+            case "y:NodeLabel" -> {
+                if (!openNodes.isEmpty()) {
+                    captureText(depth, true, s -> openNodes.forEach(n -> n.addNodeLabel(s)));
+                }
+            }
+            case "y:Geometry" -> {
+                if (!readGeometry) {
+                    return;
+                }
+                final String[] geometry = {attribute(reader, "x"), attribute(reader, "y"),
+                                           attribute(reader, "width"), attribute(reader, "height")};
+                openNodes.stream().filter(n -> n.geometry == null).forEach(n -> n.geometry = geometry);
+            }
+            case "yjs:ShapeNodeStyle" -> {
+                if (reader.getAttributeValue(null, "shape") == null) {
+                    openNodes.forEach(n -> n.defaultShapeStyle = true);
+                }
+            }
+            case "y:RectD" -> {
+                if (!readGeometry) {
+                    return;
+                }
+                final String[] bounds = {attribute(reader, "X"), attribute(reader, "Y"),
+                                         attribute(reader, "Width"), attribute(reader, "Height")};
+                openNodes.stream().filter(n -> n.rectangleBounds == null).forEach(n -> n.rectangleBounds = bounds);
+            }
+            case "y:EdgeLabel" -> {
+                if (currentEdge != null) {
+                    final EdgeElement edge = currentEdge;
+                    captureText(depth, false, s -> edge.edgeLabels.add(s.trim()));
+                }
+            }
+            case "y:LineStyle" -> {
+                final String type = reader.getAttributeValue(null, "type");
+                if (currentEdge != null && type != null && currentEdge.lineType.isEmpty()) {
+                    currentEdge.lineType = type;
+                }
+            }
+            case "yjs:Stroke" -> {
+                final String dashStyle = reader.getAttributeValue(null, "dashStyle");
+                if (currentEdge != null) {
+                    currentEdge.stroke = true;
+                    if (currentEdge.dashStyle == null) {
+                        currentEdge.dashStyle = dashStyle;
+                    }
+                }
+            }
+            case "y:Label" -> {
+                final GraphMLElement owner = labelOwner(depth, "x:List", "data");
+                if (owner != null) {
+                    owner.labelAttributes.add(attribute(reader, "Text").trim());
+                }
+            }
+            case "y:Label.Text" -> {
+                final GraphMLElement owner = labelOwner(depth, "y:Label", "x:List", "data");
+                if (owner != null) {
+                    captureText(depth, true, owner.labelTexts::add);
+                }
+            }
+            case "y:Json" -> {
+                if (sourceType == null && sourceTypeWindow == null && graphDepth > 0) {
+                    this.sourceTypeWindow = new StringBuilder();
+                    this.sourceTypeDepth = depth;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static String qualifiedName(XMLStreamReader reader) {
+        final String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
+
+    private static String attribute(XMLStreamReader reader, String name) {
+        final String value = reader.getAttributeValue(null, name);
+        return value != null ? value : "";
+    }
+
+    /**
+     * Resolves the node or edge owning a label element at the specified depth, provided the label is nested in the
+     * owner via the specified ancestors (from the closest one).
+     */
+    private GraphMLElement labelOwner(int depth, String... ancestors) {
+        final int ownerDepth = depth - ancestors.length - 1;
+        if (ownerDepth < 1) {
+            return null;
+        }
+        for (int i = 0; i < ancestors.length; i++) {
+            if (!ancestors[i].equals(path.get(depth - 2 - i))) {
+                return null;
+            }
+        }
+        if (currentEdge != null && currentEdge.getDepth() == ownerDepth) {
+            return currentEdge;
+        }
+        final NodeElement node = openNodes.peek();
+        return node != null && node.getDepth() == ownerDepth ? node : null;
+    }
+
+    /**
+     * Starts capturing text content of the element at the specified depth.
+     *
+     * @param depth     Depth of the element whose text to capture
+     * @param normalize Whether to normalize whitespace in the text (CDATA sections are kept as they are) and trim it
+     * @param consumer  Consumer of the captured text, invoked when the element ends
+     */
+    private void captureText(int depth, boolean normalize, Consumer<String> consumer) {
+        if (text == null) {
+            this.text = new StringBuilder();
+            this.normalizeText = normalize;
+            this.textDepth = depth;
+            this.textConsumer = consumer;
+        }
+    }
+
+    private void characters(XMLStreamReader reader, boolean cdata) {
+        if (text != null) {
+            if (normalizeText && !cdata) {
+                appendNormalized(text, reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            } else {
+                text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+        }
+        if (sourceTypeWindow != null) {
+            sourceTypeWindow.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            if (sourceTypeWindow.indexOf(YED_LIVE_MARKER) >= 0) {
+                this.sourceType = GraphMLParser.SourceType.ONLINE;
+                this.sourceTypeWindow = null;
+            } else if (sourceTypeWindow.length() >= YED_LIVE_MARKER.length()) {
+                // Keep only the tail which may be the beginning of the marker
+                sourceTypeWindow.delete(0, sourceTypeWindow.length() - YED_LIVE_MARKER.length() + 1);
+            }
+        }
+    }
+
+    private void endElement() {
+        final int depth = path.size();
+        final String name = path.removeLast();
+        if (text != null && depth == textDepth) {
+            textConsumer.accept(normalizeText ? text.toString().trim() : text.toString());
+            this.text = null;
+            this.textConsumer = null;
+        }
+        if (sourceTypeWindow != null && depth == sourceTypeDepth) {
+            this.sourceType = GraphMLParser.SourceType.DESKTOP;
+            this.sourceTypeWindow = null;
+        }
+        switch (name) {
+            case "node" -> openNodes.pop();
+            case "edge" -> this.currentEdge = null;
+            case "graph" -> graphDepth--;
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Appends the specified text, collapsing whitespace sequences into a single space.
+     * <p>
+     * Leading whitespace is skipped when the target already ends with whitespace.
+     */
+    private static void appendNormalized(StringBuilder target, char[] chars, int start, int length) {
+        boolean lastWasWhite = !target.isEmpty() && target.charAt(target.length() - 1) == ' ';
+        for (int i = start; i < start + length; i++) {
+            final char c = chars[i];
+            if (isWhitespace(c)) {
+                if (!lastWasWhite) {
+                    target.append(' ');
+                    lastWasWhite = true;
+                }
+            } else if (!isInvisible(c)) {
+                target.append(c);
+                lastWasWhite = false;
+            }
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r' || c == '\u00A0';
+    }
+
+    private static boolean isInvisible(char c) {
+        // Zero-width space and soft hyphen
+        return c == '\u200B' || c == '\u00AD';
+    }
+}
@@ -0,0 +1,55 @@
+package com.akaene.stpa.scs.parser.graphml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data captured for a GraphML node.
+ * <p>
+ * Following the GraphML structure, properties found in nested nodes (descendants) are captured for the enclosing nodes
+ * as well.
+ */
+class NodeElement extends GraphMLElement {
+
+    /**
+     * Whether the node contains a nested graph (it is a group node).
+     */
+    boolean group;
+
+    /**
+     * Whether the node contains a {@literal y:Shape} of type rectangle (yEd).
+     */
+    boolean rectangle;
+
+    /**
+     * Whether the node contains a {@literal yjs:ShapeNodeStyle} without an explicit shape (yEd Live).
+     */
+    boolean defaultShapeStyle;
+
+    /**
+     * Normalized texts of {@literal y:NodeLabel} elements (yEd).
+     * <p>
+     * For group nodes, only the first label is kept.
+     */
+    final List<String> nodeLabels = new ArrayList<>(1);
+
+    /**
+     * Attributes {@literal x, y, width, height} of the first {@literal y:Geometry} element (yEd).
+     */
+    String[] geometry;
+
+    /**
+     * Attributes {@literal X, Y, Width, Height} of the first {@literal y:RectD} element (yEd Live).
+     */
+    String[] rectangleBounds;
+
+    NodeElement(String id, int depth) {
+        super(id, depth);
+    }
+
+    void addNodeLabel(String label) {
+        if (!group || nodeLabels.isEmpty()) {
+            nodeLabels.add(label);
+        }
+    }
+}
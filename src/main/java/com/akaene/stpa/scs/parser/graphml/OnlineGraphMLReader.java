@@ -2,9 +2,6 @@ package com.akaene.stpa.scs.parser.graphml;
 
 import com.akaene.stpa.scs.model.Component;
 import com.akaene.stpa.scs.model.DiagramNode;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,13 +21,13 @@ public class OnlineGraphMLReader extends GraphMLReader {
     private static final Logger LOG = LoggerFactory.getLogger(OnlineGraphMLReader.class);
 
     @Override
-    List<Node> readNodes(Document document) {
-        final Elements nodeElements = document.select("node");
+    List<Node> readNodes(GraphMLContent content) {
+        final List<NodeElement> nodeElements = content.nodes();
         final Map<String, Node> nodeMap = new HashMap<>(nodeElements.size());
         nodeElements.stream()
-                    .filter(el -> !el.select("yjs|ShapeNodeStyle").not("[shape]").isEmpty())
+                    .filter(el -> el.defaultShapeStyle)
                     .map(n -> {
-                        final String id = n.id();
+                        final String id = n.getId();
                         final String label = selectLabelContent(n)
                                 .filter(s -> !s.isEmpty())
                                 .collect(Collectors.joining(" "))
@@ -43,44 +40,42 @@ public class OnlineGraphMLReader extends GraphMLReader {
         return new ArrayList<>(nodeMap.values());
     }
 
-    private static Stream<String> selectLabelContent(Element node) {
-        final Elements labelTexts = node.select("> data > x|List > y|Label > y|Label\\.Text");
-        if (!labelTexts.isEmpty()) {
-            return labelTexts.stream().map(e -> e.text().trim());
+    private static Stream<String> selectLabelContent(GraphMLElement element) {
+        if (!element.labelTexts.isEmpty()) {
+            return element.labelTexts.stream();
         }
-        return node.select("> data > x|List > y|Label").stream().map(e -> e.attr("Text").trim());
+        return element.labelAttributes.stream();
     }
 
-    private DiagramNode extractDiagramNode(Element node) {
-        final Element rectangle = node.select("y|RectD").first();
+    private DiagramNode extractDiagramNode(NodeElement node) {
+        final String[] rectangle = node.rectangleBounds;
         if (rectangle == null) {
             return null;
         }
         try {
-            final float x = Float.parseFloat(rectangle.attr("X"));
-            final float y = Float.parseFloat(rectangle.attr("X"));
-            final float width = Float.parseFloat(rectangle.attr("Width"));
-            final float height = Float.parseFloat(rectangle.attr("Height"));
+            final float x = Float.parseFloat(rectangle[0]);
+            final float y = Float.parseFloat(rectangle[1]);
+            final float width = Float.parseFloat(rectangle[2]);
+            final float height = Float.parseFloat(rectangle[3]);
             return new DiagramNode(Math.round(x), Math.round(y), Math.round(width), Math.round(height));
         } catch (NumberFormatException e) {
-            LOG.error("Unable to extract rectangle of node {}.", rectangle, e);
+            LOG.error("Unable to extract rectangle of node {}.", node.getId(), e);
             return null;
         }
     }
 
     @Override
-    List<String> getLabelItems(Element edge) {
+    List<String> getLabelItems(EdgeElement edge) {
         final String label = selectLabelContent(edge).filter(s -> !s.isEmpty()).collect(Collectors.joining("\n"));
         return List.of(label.split("\n"));
     }
 
     @Override
-    Optional<GraphMLParser.EdgeStereotype> edgeToStereotype(Element edge) {
-        final Elements lineStyle = edge.select("yjs|Stroke");
-        if (lineStyle.isEmpty()) {
+    Optional<GraphMLParser.EdgeStereotype> edgeToStereotype(EdgeElement edge) {
+        if (!edge.stroke) {
             return Optional.of(GraphMLParser.EdgeStereotype.ControlAction);
         }
-        final String style = lineStyle.attr("dashStyle");
+        final String style = edge.dashStyle != null ? edge.dashStyle : "";
         switch (style) {
             case "Dash":
                 return Optional.of(GraphMLParser.EdgeStereotype.Feedback);
@@ -89,7 +84,7 @@ public class OnlineGraphMLReader extends GraphMLReader {
             case "":
                 return Optional.of(GraphMLParser.EdgeStereotype.ControlAction);
         }
-        LOG.debug("Edge {} is of no matching stereotyped type.", edge);
+        LOG.debug("Edge {} is of no matching stereotyped type.", edge.getId());
         return Optional.empty();
     }
 }
@@ -0,0 +1,22 @@
+package com.akaene.stpa.scs.parser.sysml;
+
+import com.akaene.stpa.scs.model.Model;
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * Parses control structure from an entry of an archive.
+ * <p>
+ * The entry is identified by an EMF {@literal archive:} URI, so that it can be read directly from the archive. References
+ * relative to the entry (e.g., to profiles) resolve to other entries of the same archive.
+ */
+@FunctionalInterface
+public interface ArchiveEntryParser {
+
+    /**
+     * Parses control structure from the specified archive entry.
+     *
+     * @param entry Archive entry URI, e.g., {@literal archive:file:/models/model.zip!/model.xmi}
+     * @return Parsed model
+     */
+    Model parse(URI entry);
+}
@@ -1,6 +1,9 @@
 package com.akaene.stpa.scs.parser.sysml;
 
 import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.metrics.ParsingMetrics;
+import com.akaene.stpa.scs.metrics.ParsingPhase;
+import com.akaene.stpa.scs.metrics.PhaseMeasurement;
 import com.akaene.stpa.scs.model.AggregationType;
 import com.akaene.stpa.scs.model.Association;
 import com.akaene.stpa.scs.model.AssociationEnd;
@@ -10,12 +13,15 @@ import com.akaene.stpa.scs.model.ConnectorEnd;
 import com.akaene.stpa.scs.model.Model;
 import com.akaene.stpa.scs.model.Stereotype;
 import com.akaene.stpa.scs.parser.ControlStructureParser;
+import com.akaene.stpa.scs.parser.ModelPart;
+import com.akaene.stpa.scs.parser.ParseOptions;
+import com.akaene.stpa.scs.util.StringPool;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
-import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.uml2.uml.AggregationKind;
 import org.eclipse.uml2.uml.Class;
 import org.eclipse.uml2.uml.ConnectableElement;
@@ -24,20 +30,32 @@ import org.eclipse.uml2.uml.NamedElement;
 import org.eclipse.uml2.uml.Port;
 import org.eclipse.uml2.uml.PrimitiveType;
 import org.eclipse.uml2.uml.Property;
+import org.eclipse.uml2.uml.Type;
 import org.eclipse.uml2.uml.resource.XMI2UMLResource;
 import org.eclipse.uml2.uml.resources.util.UMLResourcesUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
+import static com.akaene.stpa.scs.util.InterruptionUtils.checkInterrupted;
+
 /**
  * SysML XMI parser using the Eclipse Modeling Framework (EMF).
  */
@@ -49,37 +67,230 @@ public class EMFSysMLXMIParser implements ControlStructureParser {
         UMLResourcesUtil.initGlobalRegistries();
     }
 
+    private final boolean parallel;
+
+    private final ParseOptions options;
+
+    public EMFSysMLXMIParser() {
+        this(false);
+    }
+
+    /**
+     * Creates a new parser.
+     * <p>
+     * In parallel mode, connectors and associations are extracted concurrently once classes are extracted, and the
+     * individual elements of each extraction phase are processed in parallel. The resulting model is the same as in the
+     * sequential mode.
+     *
+     * @param parallel Whether to run extraction phases in parallel
+     */
+    public EMFSysMLXMIParser(boolean parallel) {
+        this(parallel, ParseOptions.all());
+    }
+
+    /**
+     * Creates a new parser building only the specified parts of the model.
+     * <p>
+     * Extraction phases producing parts that are not requested are skipped.
+     *
+     * @param parallel Whether to run extraction phases in parallel
+     * @param options  Specification of the model parts to build
+     * @see #EMFSysMLXMIParser(boolean)
+     */
+    public EMFSysMLXMIParser(boolean parallel, ParseOptions options) {
+        this.parallel = parallel;
+        this.options = Objects.requireNonNull(options);
+    }
+
     @Override
     public Model parse(File input) {
         LOG.debug("Parsing input using {}.", getClass().getSimpleName());
-        final XMI2UMLResource xmi = parseAsResource(input);
+        return extractModel(parseAsResource(input));
+    }
+
+    /**
+     * Parses control structure from the model at the specified location.
+     * <p>
+     * The location may be any URI supported by EMF, e.g., an {@literal archive:} URI pointing to an entry in a ZIP
+     * archive. References relative to the location (e.g., to profiles) are resolved against it.
+     *
+     * @param input Location of the model
+     * @return Parsed model
+     */
+    public Model parse(URI input) {
+        LOG.debug("Parsing input using {}.", getClass().getSimpleName());
+        return extractModel(parseAsResource(input));
+    }
+
+    /**
+     * Extracts control structure model from the specified loaded XMI resource.
+     *
+     * @param xmi Loaded resource
+     * @return Extracted model
+     */
+    protected Model extractModel(XMI2UMLResource xmi) {
         final org.eclipse.uml2.uml.Model emfModel = getModelElement(xmi);
         final ParsingState state = initParsingState(xmi);
+        state.elements = UMLElementIndex.build(emfModel);
+        state.parallel = parallel;
+        state.options = options;
+        if (parallel) {
+            // Resolve proxies upfront so that the extraction phases do not modify the resource set concurrently
+            EcoreUtil.resolveAll(xmi);
+        }
         extractModelMetadata(emfModel, state);
-        extractStereotypes(xmi, state);
-        extractClasses(emfModel, state);
-        extractConnectors(emfModel, state);
-        extractAssociations(emfModel, state);
+        checkInterrupted();
+        if (options.includes(ModelPart.STEREOTYPES)) {
+            try (final PhaseMeasurement m = startPhase(ParsingPhase.STEREOTYPE_EXTRACTION, state)) {
+                m.setElementCount(extractStereotypes(xmi, state));
+            }
+        }
+        if (options.includes(ModelPart.CLASSES)) {
+            try (final PhaseMeasurement m = startPhase(ParsingPhase.CLASS_EXTRACTION, state)) {
+                extractClasses(emfModel, state);
+                m.setElementCount(state.result.getClasses().size());
+            }
+        }
+        checkInterrupted();
+        final boolean connectors = options.includes(ModelPart.CONNECTORS);
+        final boolean associations = options.includes(ModelPart.ASSOCIATIONS);
+        if (parallel && connectors && associations) {
+            extractConnectorsAndAssociationsInParallel(emfModel, state);
+        } else {
+            if (connectors) {
+                measureConnectorExtraction(emfModel, state);
+            }
+            checkInterrupted();
+            if (associations) {
+                measureAssociationExtraction(emfModel, state);
+            }
+        }
         LOG.debug("Parsed model:\n{}", state.result);
         return state.result;
     }
 
+    private void extractConnectorsAndAssociationsInParallel(org.eclipse.uml2.uml.Model emfModel,
+                                                            ParsingState state) {
+        try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<?> connectors = executor.submit(() -> measureConnectorExtraction(emfModel, state));
+            measureAssociationExtraction(emfModel, state);
+            connectors.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new ControlStructureParserException("Unable to extract connectors.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ControlStructureParserException("Interrupted while extracting model.", e);
+        }
+    }
+
+    private void measureConnectorExtraction(org.eclipse.uml2.uml.Model emfModel, ParsingState state) {
+        try (final PhaseMeasurement m = startPhase(ParsingPhase.CONNECTOR_EXTRACTION, state)) {
+            extractConnectors(emfModel, state);
+            m.setElementCount(state.result.getConnectors().size());
+        }
+    }
+
+    private void measureAssociationExtraction(org.eclipse.uml2.uml.Model emfModel, ParsingState state) {
+        try (final PhaseMeasurement m = startPhase(ParsingPhase.ASSOCIATION_EXTRACTION, state)) {
+            extractAssociations(emfModel, state);
+            m.setElementCount(state.result.getAssociations().size());
+        }
+    }
+
+    private static PhaseMeasurement startPhase(ParsingPhase phase, ParsingState state) {
+        final URI location = state.resource.getURI();
+        return ParsingMetrics.start(phase, fileName(location), inputSize(location));
+    }
+
+    /**
+     * Streams the specified elements, in parallel if the parser runs in parallel mode.
+     */
+    protected static <T> Stream<T> stream(List<T> elements, ParsingState state) {
+        return state.parallel ? elements.parallelStream() : elements.stream();
+    }
+
     protected ParsingState initParsingState(XMI2UMLResource resource) {
         return new ParsingState(resource);
     }
 
     public XMI2UMLResource parseAsResource(File input) {
-        LOG.debug("Parsing XMI file '{}'.", input.getName());
-        ResourceSet set = new ResourceSetImpl();
+        return parseAsResource(URI.createFileURI(input.getAbsolutePath()));
+    }
+
+    public XMI2UMLResource parseAsResource(URI input) {
+        LOG.debug("Parsing XMI file '{}'.", fileName(input));
+        final ResourceSet set = createResourceSet();
+        try (final PhaseMeasurement m = ParsingMetrics.start(ParsingPhase.RESOURCE_LOAD, fileName(input),
+                                                             inputSize(input))) {
+            final XMI2UMLResource resource = (XMI2UMLResource) set.createResource(input);
+            resource.load(set.getLoadOptions());
+            m.setElementCount(set.getResources().size());
+            return resource;
+        } catch (IOException | RuntimeException e) {
+            throw new ControlStructureParserException("Unable to parse file " + fileName(input), e);
+        }
+    }
+
+    /**
+     * Gets name of the file at the specified location, suitable for logging and error messages.
+     *
+     * @param location File location
+     * @return File name
+     */
+    protected static String fileName(URI location) {
+        return URI.decode(location.lastSegment());
+    }
+
+    /**
+     * Gets size of the file at the specified location.
+     *
+     * @param location File location
+     * @return File size in bytes, {@code -1} if the location is not a local file
+     */
+    protected static long inputSize(URI location) {
+        return location.isFile() ? new File(location.toFileString()).length() : -1;
+    }
+
+    /**
+     * Loads XMI resource from the specified input stream.
+     * <p>
+     * The specified location is used as the resource URI, so that references relative to it (e.g., to profiles) can be
+     * resolved.
+     *
+     * @param location Location of the file the content of which is (possibly transformed) in the input stream
+     * @param contents Input stream with resource content
+     * @return Loaded resource
+     * @throws IOException When the content cannot be read
+     */
+    protected XMI2UMLResource parseAsResource(URI location, InputStream contents) throws IOException {
+        LOG.debug("Parsing XMI content of file '{}'.", fileName(location));
+        final ResourceSet set = createResourceSet();
+        final XMI2UMLResource resource = (XMI2UMLResource) XMI2UMLResource.Factory.INSTANCE.createResource(location);
+        set.getResources().add(resource);
+        try (final PhaseMeasurement m = ParsingMetrics.start(ParsingPhase.RESOURCE_LOAD, fileName(location),
+                                                             inputSize(location))) {
+            resource.load(contents, set.getLoadOptions());
+            m.setElementCount(set.getResources().size());
+        }
+        return resource;
+    }
+
+    /**
+     * Creates a resource set for loading models.
+     * <p>
+     * Profiles referenced by the models are obtained from the shared {@link ProfileCache}.
+     *
+     * @return New resource set
+     */
+    static ResourceSet createResourceSet() {
+        final ResourceSet set = new ProfileSharingResourceSet(ProfileCache.getInstance());
         Stream.of(SysMLXMIParser.SUPPORTED_FILE_EXTENSIONS)
               .forEach(ext -> set.getResourceFactoryRegistry().getExtensionToFactoryMap()
                                  .put(ext, XMI2UMLResource.Factory.INSTANCE));
-        try {
-            final URI uri = URI.createFileURI(input.getAbsolutePath());
-            return (XMI2UMLResource) set.getResource(uri, true);
-        } catch (RuntimeException e) {
-            throw new ControlStructureParserException("Unable to parse file " + input.getName(), e);
-        }
+        return set;
     }
 
     private org.eclipse.uml2.uml.Model getModelElement(Resource xmi) {
@@ -93,24 +304,52 @@ public class EMFSysMLXMIParser implements ControlStructureParser {
         state.result.setName(xmiModel.getName());
     }
 
-    protected void extractStereotypes(Resource xmi, ParsingState state) {
-        xmi.getContents().stream()
-           .filter(o -> o instanceof DynamicEObjectImpl)
-           .map(DynamicEObjectImpl.class::cast)
-           .forEach(stereotype -> {
-               final Stereotype result = new Stereotype(stereotype.eClass().getName());
-               state.result.addStereotype(result);
-               state.stereotypes.put(stereotype, result);
-           });
+    /**
+     * Extracts stereotypes and indexes their applications to model elements.
+     *
+     * @param xmi   Loaded resource
+     * @param state Parsing state
+     * @return Number of indexed stereotype applications
+     */
+    protected int extractStereotypes(Resource xmi, ParsingState state) {
+        final List<DynamicEObjectImpl> applications = xmi.getContents().stream()
+                                                         .filter(o -> o instanceof DynamicEObjectImpl)
+                                                         .map(DynamicEObjectImpl.class::cast).toList();
+        applications.forEach(stereotype -> {
+            final Stereotype result = new Stereotype(stereotype.eClass().getName());
+            state.result.addStereotype(result);
+            state.stereotypes.put(stereotype, result);
+            indexStereotypeApplication(stereotype, result, state);
+        });
+        return applications.size();
+    }
+
+    /**
+     * Registers the specified stereotype with all the elements referenced by the stereotype application (e.g., via
+     * {@code base_Class}).
+     */
+    private static void indexStereotypeApplication(DynamicEObjectImpl stereotypeElem, Stereotype stereotype,
+                                                   ParsingState state) {
+        final int max = stereotypeElem.eClass().getEAllStructuralFeatures().size();
+        for (int i = 0; i < max; i++) {
+            final Object p = stereotypeElem.dynamicGet(i);
+            if (p instanceof EObject) {
+                final List<Stereotype> applied = state.elementStereotypes.computeIfAbsent(p, k -> new ArrayList<>(2));
+                // The same element may be referenced by multiple features of the stereotype application
+                if (applied.isEmpty() || applied.getLast() != stereotype) {
+                    applied.add(stereotype);
+                }
+            }
+        }
     }
 
     protected void extractClasses(org.eclipse.uml2.uml.Model xmiModel, ParsingState state) {
-        xmiModel.allOwnedElements().stream()
-                .filter(o -> o instanceof Class)
-                .map(o -> (Class) o)
+        state.elements.getClasses().stream()
                 .map(cls -> {
-                    final ComponentType ct = new ComponentType(cls.getName(), cls.getQualifiedName());
+                    final ComponentType ct = new ComponentType(state.strings.intern(cls.getName()),
+                                                               state.strings.intern(cls.getQualifiedName()));
                     getElementStereotypes(cls, state).forEach(ct::addStereotype);
+                    state.classes.put(cls, ct);
                     return ct;
                 })
                 .forEach(state.result::addClass);
@@ -118,38 +357,31 @@ public class EMFSysMLXMIParser implements ControlStructureParser {
     }
 
     protected void resolveSupertypesAndParts(org.eclipse.uml2.uml.Model xmiModel, ParsingState state) {
-        xmiModel.allOwnedElements().stream()
-                .filter(o -> o instanceof Class)
-                .map(Class.class::cast)
-                .forEach(cls -> {
-                    final Optional<ComponentType> target = state.result.getClass(cls.getName());
-                    assert target.isPresent();
-                    getSuperTypes(cls, state).forEach(ct -> target.get().addSuperType(ct));
-                    final Collection<Association> partOf = extractAttributeAssociations(cls, state);
-                    partOf.forEach(association -> target.get().addAttribute(association));
+        // Resolve first, then update the component types in encounter order
+        stream(state.elements.getClasses(), state)
+                .map(cls -> {
+                    final ComponentType target = state.classes.get(cls);
+                    assert target != null;
+                    return new ResolvedClass(target, getSuperTypes(cls, state),
+                                             state.options.includes(ModelPart.ATTRIBUTES) ?
+                                             extractAttributeAssociations(cls, state) : List.of());
+                }).toList()
+                .forEach(resolved -> {
+                    resolved.superTypes().forEach(resolved.target()::addSuperType);
+                    resolved.attributes().forEach(resolved.target()::addAttribute);
                 });
     }
 
-    protected Collection<Stereotype> getElementStereotypes(EObject element, ParsingState state) {
-        return state.stereotypes.entrySet().stream().filter(e -> hasStereotype(e.getKey(), element))
-                                .map(Map.Entry::getValue).toList();
+    private record ResolvedClass(ComponentType target, Collection<ComponentType> superTypes,
+                                 Collection<Association> attributes) {
     }
 
-    protected static boolean hasStereotype(DynamicEObjectImpl stereotypeElem, Object element) {
-        int max = stereotypeElem.eClass().getEAllStructuralFeatures().size();
-
-        for (int i = 0; i < max; i++) {
-            Object p = stereotypeElem.dynamicGet(i);
-            if (p == element) {
-                return true;
-            }
-        }
-        return false;
+    protected Collection<Stereotype> getElementStereotypes(EObject element, ParsingState state) {
+        return state.elementStereotypes.getOrDefault(element, List.of());
     }
 
     protected Collection<ComponentType> getSuperTypes(Class cls, ParsingState state) {
-        return cls.getSuperClasses().stream().map(supertype -> state.result.getClass(supertype.getName())).flatMap(
-                Optional::stream).toList();
+        return cls.getSuperClasses().stream().map(state.classes::get).filter(Objects::nonNull).toList();
     }
 
     protected Collection<Association> extractAttributeAssociations(Class cls, ParsingState state) {
@@ -159,26 +391,27 @@ public class EMFSysMLXMIParser implements ControlStructureParser {
             if (part.getOtherEnd() != null) {
                 source = propertyToAssociationEnd(part.getOtherEnd(), state);
             } else {
-                final Optional<ComponentType> sourceType = state.result.getClass(cls.getName());
-                assert sourceType.isPresent();
-                source = new AssociationEnd(sourceType.get(), AggregationType.ASSOCIATION,
+                final ComponentType sourceType = state.classes.get(cls);
+                assert sourceType != null;
+                source = new AssociationEnd(sourceType, AggregationType.ASSOCIATION,
                                             null, 0, null);
             }
             final Optional<org.eclipse.uml2.uml.Association> assocElement = Optional.ofNullable(part.getAssociation());
             final Association association = new Association(
-                    assocElement.map(NamedElement::getName).orElse(null), assocElement.map(
-                    NamedElement::getQualifiedName).orElse(part.getQualifiedName()), source, target);
+                    state.strings.intern(assocElement.map(NamedElement::getName).orElse(null)),
+                    state.strings.intern(assocElement.map(NamedElement::getQualifiedName)
+                                                     .orElse(part.getQualifiedName())), source, target);
             getElementStereotypes(part.getAssociation(), state).forEach(association::addStereotype);
             return association;
         }).toList();
     }
 
     protected ComponentType propertyType(Property property, ParsingState state) {
-        return Optional.ofNullable(property.getType()).flatMap(ct -> state.result.getClass(ct.getName()))
+        return Optional.ofNullable(property.getType()).map(state.classes::get)
                        .orElseGet(() -> {
                            if (property.getType() instanceof PrimitiveType) {
-                               return new ComponentType(property.getType().getName(),
-                                                        property.getType().getQualifiedName());
+                               return new ComponentType(state.strings.intern(property.getType().getName()),
+                                                        state.strings.intern(property.getType().getQualifiedName()));
                            }
                            return ComponentType.UNSPECIFIED;
                        });
@@ -187,7 +420,7 @@ public class EMFSysMLXMIParser implements ControlStructureParser {
     protected AssociationEnd propertyToAssociationEnd(Property property, ParsingState state) {
         final ComponentType targetType = propertyType(property, state);
         return new AssociationEnd(targetType, aggregationType(property.getAggregation()),
-                                  property.getName(), property.getLower(), property.getUpper());
+                                  state.strings.intern(property.getName()), property.getLower(), property.getUpper());
     }
 
     protected static AggregationType aggregationType(AggregationKind emfAggregation) {
@@ -199,11 +432,8 @@ public class EMFSysMLXMIParser implements ControlStructureParser {
     }
 
     protected void extractConnectors(org.eclipse.uml2.uml.Model xmiModel, ParsingState state) {
-        final List<Connector> connectors = xmiModel.allOwnedElements().stream()
-                                                   .filter(o -> o instanceof org.eclipse.uml2.uml.Connector)
-                                                   .map(org.eclipse.uml2.uml.Connector.class::cast)
-                                                   .toList();
-        connectors.stream().map(c -> {
+        final List<Connector> connectors = state.elements.getConnectors();
+        final List<com.akaene.stpa.scs.model.Connector> result = stream(connectors, state).map(c -> {
             assert c.getEnds().size() == 2;
 
             final Optional<ConnectorEnd> source = connectorEnd(c.getEnds().getFirst(), state);
@@ -211,15 +441,17 @@ public class EMFSysMLXMIParser implements ControlStructureParser {
             if (source.isEmpty() || target.isEmpty()) {
                 return null;
             }
-            final com.akaene.stpa.scs.model.Connector connector = new com.akaene.stpa.scs.model.Connector(c.getName(),
-                                                                                                          c.getQualifiedName(),
-                                                                                                          source.get(),
-                                                                                                          target.get());
+            final com.akaene.stpa.scs.model.Connector connector = new com.akaene.stpa.scs.model.Connector(
+                    state.strings.intern(c.getName()), state.strings.intern(c.getQualifiedName()), source.get(),
+                    target.get());
             getElementStereotypes(c, state).forEach(connector::addStereotype);
             getElementStereotypes(c.getEnds().getFirst(), state).forEach(connector::addStereotype);
             getElementStereotypes(c.getEnds().get(1), state).forEach(connector::addStereotype);
             return connector;
-        }).filter(Objects::nonNull).forEach(state.result::addConnector);
+        }).filter(Objects::nonNull).toList();
+        synchronized (state.result) {
+            result.forEach(state.result::addConnector);
+        }
     }
 
     protected Optional<ConnectorEnd> connectorEnd(org.eclipse.uml2.uml.ConnectorEnd umlConnectorEnd, ParsingState state) {
@@ -228,34 +460,42 @@ public class EMFSysMLXMIParser implements ControlStructureParser {
         if (connected == null) {
             return Optional.empty();
         }
-        final Optional<ComponentType> type =
-                connected.getType() != null ? state.result.getClass(connected.getType().getName()) : Optional.empty();
+        final Optional<ComponentType> type = Optional.ofNullable(connected.getType()).map(state.classes::get);
 
         final Component comp = state.components.computeIfAbsent(
                 connected,
-                k -> new Component(connected.getName(), connected.getQualifiedName(),
+                k -> new Component(state.strings.intern(connected.getName()),
+                                   state.strings.intern(connected.getQualifiedName()),
                                    type.orElse(ComponentType.UNSPECIFIED))
         );
         return Optional.of(new ConnectorEnd(comp, null, umlConnectorEnd.getLower(), umlConnectorEnd.getUpper()));
     }
 
     protected void extractAssociations(org.eclipse.uml2.uml.Model xmiModel, ParsingState state) {
-        final List<org.eclipse.uml2.uml.Association> associations = xmiModel.allOwnedElements().stream()
-                                                                            .filter(o -> o instanceof org.eclipse.uml2.uml.Association)
-                                                                            .map(org.eclipse.uml2.uml.Association.class::cast)
-                                                                            .toList();
-        final List<Association> result = associations.stream().map(a -> {
-            assert a.getMemberEnds().size() == 2;
-            final AssociationEnd source = propertyToAssociationEnd(a.getMemberEnds().getFirst(), state);
-            final AssociationEnd target = propertyToAssociationEnd(a.getMemberEnds().get(1), state);
-            final Association association = new Association(a.getName(),
-                                                            a.getQualifiedName() != null ? a.getQualifiedName() :
-                                                            a.getMemberEnds().getFirst().getQualifiedName(), source,
-                                                            target);
-            getElementStereotypes(a, state).forEach(association::addStereotype);
-            return association;
-        }).filter(association -> !state.result.getAssociations().contains(association)).toList();
-        result.forEach(state.result::addAssociation);
+        final List<org.eclipse.uml2.uml.Association> associations = state.elements.getAssociations();
+        final List<Association> result = stream(associations, state).map(a -> toAssociation(a, state)).toList();
+        synchronized (state.result) {
+            result.forEach(state.result::addAssociation);
+        }
+    }
+
+    protected Association toAssociation(org.eclipse.uml2.uml.Association umlAssociation, ParsingState state) {
+        assert umlAssociation.getMemberEnds().size() == 2;
+        final AssociationEnd source = propertyToAssociationEnd(umlAssociation.getMemberEnds().getFirst(), state);
+        final AssociationEnd target = propertyToAssociationEnd(umlAssociation.getMemberEnds().get(1), state);
+        // Unnamed associations have no qualified name, they are identified by their (named) member ends instead
+        final String qualifiedName = umlAssociation.getQualifiedName() != null ? umlAssociation.getQualifiedName() :
+                                     umlAssociation.getMemberEnds().stream().map(NamedElement::getQualifiedName)
+                                                   .filter(Objects::nonNull).findFirst().orElse(null);
+        final Association association = new Association(state.strings.intern(umlAssociation.getName()),
+                                                        state.strings.intern(qualifiedName), source, target);
+        getElementStereotypes(umlAssociation, state).forEach(association::addStereotype);
+        return association;
+    }
+
+    @Override
+    public ParseOptions getOptions() {
+        return options;
     }
 
     @Override
@@ -269,10 +509,42 @@ public class EMFSysMLXMIParser implements ControlStructureParser {
 
         protected final XMI2UMLResource resource;
 
-        protected final Map<Object, Component> components = new HashMap<>();
+        protected final Map<Object, Component> components = new ConcurrentHashMap<>();
+
+        /**
+         * Component types extracted from UML classes, indexed by the class identity.
+         * <p>
+         * Filled sequentially before any (possibly parallel) resolution phase, read-only afterward.
+         */
+        protected final Map<Type, ComponentType> classes = new IdentityHashMap<>();
 
         protected final Map<DynamicEObjectImpl, Stereotype> stereotypes = new HashMap<>();
 
+        /**
+         * Stereotypes applied to model elements, indexed by the element.
+         */
+        protected final Map<Object, List<Stereotype>> elementStereotypes = new HashMap<>();
+
+        /**
+         * Deduplicates names and qualified names of the extracted elements.
+         */
+        protected final StringPool strings = new StringPool();
+
+        /**
+         * Model elements indexed by kind, built once the model is loaded.
+         */
+        protected UMLElementIndex elements;
+
+        /**
+         * Whether extraction phases run in parallel.
+         */
+        protected boolean parallel;
+
+        /**
+         * Model parts to extract.
+         */
+        protected ParseOptions options = ParseOptions.all();
+
         protected ParsingState(XMI2UMLResource resource) {
             this.resource = resource;
         }
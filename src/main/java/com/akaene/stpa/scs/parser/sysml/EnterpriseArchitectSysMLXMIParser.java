@@ -1,40 +1,47 @@
 package com.akaene.stpa.scs.parser.sysml;
 
 import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.metrics.ParsingMetrics;
+import com.akaene.stpa.scs.metrics.ParsingPhase;
+import com.akaene.stpa.scs.metrics.PhaseMeasurement;
 import com.akaene.stpa.scs.model.Model;
 import com.akaene.stpa.scs.model.Stereotype;
+import com.akaene.stpa.scs.parser.InputDescriptor;
+import com.akaene.stpa.scs.parser.InputFormat;
+import com.akaene.stpa.scs.parser.InputFormatDetector;
+import com.akaene.stpa.scs.parser.ParseOptions;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.util.FeatureMap;
 import org.eclipse.emf.ecore.xml.type.AnyType;
 import org.eclipse.uml2.uml.resource.XMI2UMLResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Control structure parser supporting SysML XMI artifacts produced by Enterprise Architect.
@@ -45,15 +52,116 @@ public class EnterpriseArchitectSysMLXMIParser extends EMFSysMLXMIParser {
 
     private static final Logger LOG = LoggerFactory.getLogger(EnterpriseArchitectSysMLXMIParser.class);
 
+    /**
+     * Size of the buffer between transformation and parsing.
+     */
+    private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+
+    public EnterpriseArchitectSysMLXMIParser() {
+    }
+
+    /**
+     * Creates a new parser.
+     *
+     * @param parallel Whether to run extraction phases in parallel
+     * @see EMFSysMLXMIParser#EMFSysMLXMIParser(boolean)
+     */
+    public EnterpriseArchitectSysMLXMIParser(boolean parallel) {
+        super(parallel);
+    }
+
+    /**
+     * Creates a new parser building only the specified parts of the model.
+     *
+     * @param parallel Whether to run extraction phases in parallel
+     * @param options  Specification of the model parts to build
+     * @see EMFSysMLXMIParser#EMFSysMLXMIParser(boolean, ParseOptions)
+     */
+    public EnterpriseArchitectSysMLXMIParser(boolean parallel, ParseOptions options) {
+        super(parallel, options);
+    }
+
     @Override
     public Model parse(File input) {
+        return parse(URI.createFileURI(input.getAbsolutePath()));
+    }
+
+    @Override
+    public Model parse(URI input) {
         LOG.debug("Parsing input using {}.", getClass().getSimpleName());
-        final File transformedInput = transformToEMFReadable(input);
-        try {
-            return super.parse(transformedInput);
-        } finally {
-            transformedInput.delete();
+        return extractModel(parseTransformed(input));
+    }
+
+    /**
+     * Transforms the specified input into an EMF-readable form and loads it as an XMI resource.
+     * <p>
+     * The transformation runs in a separate thread and its output is streamed directly into the resource loading,
+     * without being stored in a temporary file.
+     */
+    private XMI2UMLResource parseTransformed(URI input) {
+        final String fileName = fileName(input);
+        final AtomicReference<Exception> transformationError = new AtomicReference<>();
+        final AtomicBoolean closedBeforeEnd = new AtomicBoolean();
+        try (final PipedInputStream in = new PipedInputStream(PIPE_BUFFER_SIZE)) {
+            final PipedOutputStream out = new PipedOutputStream(in);
+            final Thread transformation = Thread.ofPlatform().daemon().name("ea-transform-" + fileName)
+                                                .start(() -> {
+                                                    try (out; final InputStream source = URIConverter.INSTANCE
+                                                            .createInputStream(input)) {
+                                                        transformToEMFReadable(source, out, input);
+                                                    } catch (TransformerException | IOException | RuntimeException e) {
+                                                        if (closedBeforeEnd.get() && isCausedByIOException(e)) {
+                                                            // Writing into the pipe closed by the parser
+                                                            LOG.trace("Transformation of file {} stopped after " +
+                                                                              "parsing ended.", fileName);
+                                                        } else {
+                                                            transformationError.set(e);
+                                                        }
+                                                    }
+                                                });
+            final EndTrackingInputStream contents = new EndTrackingInputStream(in);
+            XMI2UMLResource resource = null;
+            Exception parsingError = null;
+            try {
+                resource = parseAsResource(input, contents);
+            } catch (IOException | RuntimeException e) {
+                parsingError = e;
+            } finally {
+                // Closing the pipe unblocks the transformation if parsing ended prematurely
+                closedBeforeEnd.set(!contents.isEndReached());
+                in.close();
+                transformation.join();
+            }
+            // Parsing fails also when the transformation fails, report the original cause
+            if (transformationError.get() != null) {
+                LOG.error("Unable to transform file.", transformationError.get());
+                throw new ControlStructureParserException("Unable to transform Enterprise Architect file.",
+                                                          transformationError.get());
+            }
+            if (parsingError != null) {
+                throw new ControlStructureParserException("Unable to parse file " + fileName, parsingError);
+            }
+            return resource;
+        } catch (IOException e) {
+            throw new ControlStructureParserException("Unable to parse file " + fileName, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ControlStructureParserException("Interrupted while parsing file " + fileName, e);
+        }
+    }
+
+    /**
+     * Checks whether the specified transformation error was caused by failure to write the output.
+     * <p>
+     * The XSLT processor may wrap the original exception.
+     */
+    private static boolean isCausedByIOException(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof IOException) {
+                return true;
+            }
         }
+        return false;
     }
 
     @Override
@@ -61,35 +169,37 @@ public class EnterpriseArchitectSysMLXMIParser extends EMFSysMLXMIParser {
         return isEnterpriseArchitectFile(input);
     }
 
+    @Override
+    public boolean supports(InputDescriptor input) {
+        return input.format() == InputFormat.ENTERPRISE_ARCHITECT_XMI;
+    }
+
     @Override
     protected EnterpriseArchitectParsingState initParsingState(XMI2UMLResource resource) {
         return new EnterpriseArchitectParsingState(resource);
     }
 
     @Override
-    protected void extractStereotypes(Resource xmi, ParsingState state) {
-        xmi.getContents().stream().filter(e -> e instanceof AnyType)
-           .filter(e -> {
-               final AnyType anyType = (AnyType) e;
-               final FeatureMap features = anyType.getAnyAttribute();
-               return features.stream().anyMatch(f -> f.getEStructuralFeature().getName().equals("base_Connector"));
-           }).forEach(e -> {
-               final AnyType anyType = (AnyType) e;
-               final FeatureMap features = anyType.getAnyAttribute();
-               features.stream().filter(f -> f.getEStructuralFeature().getName().equals("base_Connector")).map(
-                       FeatureMap.Entry::getValue).findAny().ifPresent(f -> {
-                   final String name = e.eClass().getName();
-                   final Stereotype stereotype = ((EnterpriseArchitectParsingState) state).stereotypesByName.computeIfAbsent(
-                           name, n -> {
-                               final Stereotype s = new Stereotype(n);
-                               state.result.addStereotype(s);
-                               return s;
-                           });
-                   ((EnterpriseArchitectParsingState) state).idToStereotype.computeIfAbsent(f.toString(),
-                                                                                            (k) -> new ArrayList<>())
-                                                                           .add(stereotype);
-               });
-           });
+    protected int extractStereotypes(Resource xmi, ParsingState state) {
+        final EnterpriseArchitectParsingState eaState = (EnterpriseArchitectParsingState) state;
+        final List<EObject> applications = xmi.getContents().stream().filter(e -> e instanceof AnyType)
+                                              .filter(e -> baseConnector((AnyType) e).isPresent()).toList();
+        applications.forEach(e -> {
+            final Object connector = baseConnector((AnyType) e).orElseThrow();
+            final Stereotype stereotype = eaState.stereotypesByName.computeIfAbsent(e.eClass().getName(), n -> {
+                final Stereotype s = new Stereotype(n);
+                state.result.addStereotype(s);
+                return s;
+            });
+            eaState.idToStereotype.computeIfAbsent(connector.toString(), k -> new ArrayList<>()).add(stereotype);
+        });
+        return applications.size();
+    }
+
+    private static Optional<Object> baseConnector(AnyType stereotypeApplication) {
+        final FeatureMap features = stereotypeApplication.getAnyAttribute();
+        return features.stream().filter(f -> f.getEStructuralFeature().getName().equals("base_Connector"))
+                       .map(FeatureMap.Entry::getValue).findAny();
     }
 
     @Override
@@ -100,52 +210,28 @@ public class EnterpriseArchitectSysMLXMIParser extends EMFSysMLXMIParser {
                Collections.emptyList();
     }
 
+    /**
+     * Checks whether the specified file was produced by Enterprise Architect.
+     * <p>
+     * Only a bounded prefix of the file is examined.
+     *
+     * @param input File to check
+     * @return {@code true} if the file was produced by Enterprise Architect, {@code false} otherwise
+     * @see InputFormatDetector
+     */
     public static boolean isEnterpriseArchitectFile(File input) {
         LOG.trace("Checking if input file '{}' was produced by Enterprise Architect.", input.getName());
-        try {
-            final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
-            final XMLEventReader eventReader = inputFactory.createXMLEventReader(new FileInputStream(input));
-            while (eventReader.hasNext()) {
-                final XMLEvent event = eventReader.nextEvent();
-                if (event.isStartElement()) {
-                    final StartElement startElement = event.asStartElement();
-                    if (startElement.getName()
-                                    .equals(new QName("http://www.omg.org/spec/XMI/20131001", "Documentation"))) {
-                        final Attribute exporter = startElement.getAttributeByName(new QName("exporter"));
-                        if (exporter != null && exporter.getValue().equals("Enterprise Architect")) {
-                            return true;
-                        }
-                    }
-
-                }
-            }
-            return false;
-        } catch (IOException | XMLStreamException e) {
-            throw new ControlStructureParserException(
-                    "Unable to resolve whether file was generated by Enterprise Architect", e);
-        }
+        return InputFormatDetector.detect(input).format() == InputFormat.ENTERPRISE_ARCHITECT_XMI;
     }
 
-    private static File transformToEMFReadable(File input) {
-        try {
-            final TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            final Source transformerSource = new StreamSource(
-                    EnterpriseArchitectSysMLXMIParser.class.getClassLoader().getResourceAsStream("ea-transform.xsl"));
-            final Transformer transformer = transformerFactory.newTransformer(transformerSource);
-            final Source toTransform = new StreamSource(input);
-            final File output = Files.createTempFile("scsparser-",
-                                                     input.getName().substring(input.getName().indexOf('.'))).toFile();
-            LOG.trace("Enterprise Architect transformation target is '{}'.", output);
-            output.deleteOnExit();
-            final Result target = new StreamResult(output);
+    private static void transformToEMFReadable(InputStream input, OutputStream output, URI location)
+            throws TransformerException {
+        final Transformer transformer = StylesheetRegistry.newTransformer(StylesheetRegistry.ENTERPRISE_ARCHITECT);
+        final Source toTransform = new StreamSource(input);
+        final Result target = new StreamResult(output);
+        try (final PhaseMeasurement ignored = ParsingMetrics.start(ParsingPhase.XSLT_TRANSFORM, fileName(location),
+                                                                   inputSize(location))) {
             transformer.transform(toTransform, target);
-            return output;
-        } catch (TransformerException e) {
-            LOG.error("Unable to transform file.", e);
-            throw new ControlStructureParserException("Unable to transform Enterprise Architect file.", e);
-        } catch (IOException e) {
-            LOG.error("Unable to create transformation target file.", e);
-            throw new ControlStructureParserException("Unable to transform Enterprise Architect file.", e);
         }
     }
 
@@ -159,4 +245,34 @@ public class EnterpriseArchitectSysMLXMIParser extends EMFSysMLXMIParser {
             super(resource);
         }
     }
+
+    /**
+     * Remembers whether the end of the underlying stream has been reached.
+     */
+    private static final class EndTrackingInputStream extends FilterInputStream {
+
+        private boolean endReached;
+
+        private EndTrackingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            this.endReached |= b < 0;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int count = super.read(b, off, len);
+            this.endReached |= count < 0;
+            return count;
+        }
+
+        private boolean isEndReached() {
+            return endReached;
+        }
+    }
 }
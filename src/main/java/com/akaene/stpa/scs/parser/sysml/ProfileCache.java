@@ -0,0 +1,247 @@
+package com.akaene.stpa.scs.parser.sysml;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.uml2.uml.resource.XMI2UMLResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Process-wide cache of loaded UML profiles.
+ * <p>
+ * Models are typically distributed together with copies of the same profiles (e.g., {@literal sysml.profile.xmi}).
+ * Instead of parsing the profile for every model, the profile is loaded once and the loaded resource is shared by all
+ * the parses that reference a profile with the same file name and content.
+ * <p>
+ * Shared profiles are loaded into a dedicated resource set, all their references are resolved and the lazily built
+ * structural caches of the classes they define are initialized before they are cached, so they are only read by the
+ * (possibly concurrent) parses. The cache holds at most the specified number of profiles, evicting the least recently
+ * used ones.
+ * <p>
+ * To avoid reading and hashing the profile content on every lookup, the content key is remembered for each profile
+ * location together with the size and modification time of the profile. The content is read only when these are
+ * unknown or have changed.
+ */
+public class ProfileCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProfileCache.class);
+
+    /**
+     * Default maximum number of cached profiles.
+     */
+    public static final int DEFAULT_MAX_SIZE = 32;
+
+    /**
+     * Maximum number of remembered locations per cached profile.
+     */
+    private static final int LOCATIONS_PER_PROFILE = 16;
+
+    private static final Set<String> LOCATION_ATTRIBUTES =
+            Set.of(URIConverter.ATTRIBUTE_LENGTH, URIConverter.ATTRIBUTE_TIME_STAMP);
+
+    private static final ProfileCache INSTANCE = new ProfileCache(DEFAULT_MAX_SIZE);
+
+    private final Map<Key, Resource> profiles;
+
+    /**
+     * Content keys of recently read profile locations, guarded by {@link #profiles}.
+     */
+    private final Map<Location, Key> locations;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize Maximum number of cached profiles
+     */
+    public ProfileCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum cache size must be positive.");
+        }
+        this.profiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Resource> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.locations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Location, Key> eldest) {
+                return size() > maxSize * LOCATIONS_PER_PROFILE;
+            }
+        };
+    }
+
+    /**
+     * Gets the shared process-wide profile cache.
+     *
+     * @return Profile cache
+     */
+    public static ProfileCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks whether the resource at the specified location is a profile.
+     *
+     * @param location Resource location
+     * @return {@code true} if the resource is a profile, {@code false} otherwise
+     */
+    public static boolean isProfile(URI location) {
+        final String name = location.lastSegment();
+        return name != null && ZipModelFileFilter.isProfileFile(URI.decode(name));
+    }
+
+    /**
+     * Gets the loaded profile at the specified location.
+     * <p>
+     * If a profile with the same file name and content has already been loaded, it is returned. Otherwise, the
+     * profile is loaded and cached.
+     *
+     * @param location Profile location
+     * @param converter Converter used to read the profile content
+     * @return Loaded profile resource
+     * @throws ControlStructureParserException When the profile cannot be loaded
+     */
+    public Resource get(URI location, URIConverter converter) {
+        final Location cheapKey = Location.of(location, converter);
+        if (cheapKey != null) {
+            synchronized (profiles) {
+                final Key key = locations.get(cheapKey);
+                final Resource cached = key != null ? profiles.get(key) : null;
+                if (cached != null) {
+                    LOG.trace("Using cached profile {} for unchanged location {}.", key.name(), location);
+                    return cached;
+                }
+            }
+        }
+        final byte[] content;
+        try (final InputStream in = converter.createInputStream(location)) {
+            content = in.readAllBytes();
+        } catch (IOException e) {
+            throw new ControlStructureParserException("Unable to read profile " + location, e);
+        }
+        final Key key = new Key(URI.decode(location.lastSegment()), digest(content));
+        synchronized (profiles) {
+            if (cheapKey != null) {
+                locations.put(cheapKey, key);
+            }
+            final Resource cached = profiles.get(key);
+            if (cached != null) {
+                LOG.trace("Using cached profile {}.", key.name());
+                return cached;
+            }
+        }
+        final Resource loaded = load(location, content);
+        synchronized (profiles) {
+            // Another thread may have loaded the same profile in the meantime
+            return profiles.computeIfAbsent(key, k -> loaded);
+        }
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+
+    private static Resource load(URI location, byte[] content) {
+        LOG.debug("Loading profile {}.", location);
+        final ResourceSet set = EMFSysMLXMIParser.createResourceSet();
+        final Resource resource = XMI2UMLResource.Factory.INSTANCE.createResource(location);
+        set.getResources().add(resource);
+        try {
+            resource.load(new ByteArrayInputStream(content), set.getLoadOptions());
+            // Resolve everything, so that the shared profile is not modified by concurrent parses
+            EcoreUtil.resolveAll(set);
+            initializeClassCaches(set);
+        } catch (IOException | RuntimeException e) {
+            throw new ControlStructureParserException("Unable to load profile " + location, e);
+        }
+        return resource;
+    }
+
+    /**
+     * Builds the lazily initialized caches of all the classes in the specified resource set.
+     * <p>
+     * Profiles define dynamic classes of stereotype applications. EMF computes their features on first use without
+     * synchronization, so the computation is forced here, before the profile is published to concurrent parses.
+     */
+    private static void initializeClassCaches(ResourceSet set) {
+        final TreeIterator<Object> it = EcoreUtil.getAllContents(set, false);
+        while (it.hasNext()) {
+            if (it.next() instanceof EClass cls) {
+                cls.getEAllSuperTypes();
+                cls.getEAllAttributes();
+                cls.getEAllReferences();
+                cls.getEAllContainments();
+                cls.getEAllOperations();
+                cls.getEIDAttribute();
+                cls.getFeatureCount();
+                for (EStructuralFeature feature : cls.getEAllStructuralFeatures()) {
+                    cls.getFeatureID(feature);
+                    ((EStructuralFeature.Internal) feature).getSettingDelegate();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cached profiles.
+     *
+     * @return Cache size
+     */
+    public int size() {
+        synchronized (profiles) {
+            return profiles.size();
+        }
+    }
+
+    /**
+     * Removes all profiles from the cache.
+     */
+    public void clear() {
+        synchronized (profiles) {
+            profiles.clear();
+            locations.clear();
+        }
+    }
+
+    private record Key(String name, String digest) {
+    }
+
+    private record Location(String uri, long length, long timeStamp) {
+
+        /**
+         * Gets the location key of the specified profile, {@code null} if its size or modification time is unknown.
+         */
+        static Location of(URI location, URIConverter converter) {
+            final Map<String, ?> attributes = converter.getAttributes(location, Map.of(
+                    URIConverter.OPTION_REQUESTED_ATTRIBUTES, LOCATION_ATTRIBUTES));
+            if (attributes.get(URIConverter.ATTRIBUTE_LENGTH) instanceof Long length &&
+                    attributes.get(URIConverter.ATTRIBUTE_TIME_STAMP) instanceof Long timeStamp &&
+                    timeStamp != URIConverter.NULL_TIME_STAMP) {
+                return new Location(location.toString(), length, timeStamp);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.akaene.stpa.scs.parser.sysml;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+
+import java.util.HashMap;
+
+/**
+ * Resource set which obtains profiles from a {@link ProfileCache} instead of loading them.
+ * <p>
+ * Cached profiles are not added to the resources of this set, they are only made available for resolving references
+ * via the URI resource map.
+ */
+class ProfileSharingResourceSet extends ResourceSetImpl {
+
+    private final ProfileCache cache;
+
+    ProfileSharingResourceSet(ProfileCache cache) {
+        this.cache = cache;
+        setURIResourceMap(new HashMap<>());
+    }
+
+    @Override
+    public Resource getResource(URI uri, boolean loadOnDemand) {
+        if (loadOnDemand && ProfileCache.isProfile(uri) && !getURIResourceMap().containsKey(uri) &&
+                getResources().stream().noneMatch(r -> uri.equals(r.getURI()))) {
+            final Resource profile = cache.get(uri, getURIConverter());
+            getURIResourceMap().put(uri, profile);
+            return profile;
+        }
+        return super.getResource(uri, loadOnDemand);
+    }
+}
@@ -0,0 +1,133 @@
+package com.akaene.stpa.scs.parser.sysml;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import net.sf.saxon.TransformerFactoryImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+import java.net.URL;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of compiled XSLT stylesheets used to make vendor-specific artifacts readable by EMF.
+ * <p>
+ * Each stylesheet is compiled (using Saxon) only once, when it is registered. Compiled {@link Templates} are thread-safe,
+ * so parsers only create a new lightweight {@link Transformer} for each transformation.
+ * <p>
+ * The stylesheet for Enterprise Architect artifacts is registered by default under {@link #ENTERPRISE_ARCHITECT}.
+ * Stylesheets for other tools can be registered via {@link #register(String, URL)}.
+ */
+public final class StylesheetRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StylesheetRegistry.class);
+
+    /**
+     * Name of the stylesheet transforming Enterprise Architect XMI.
+     */
+    public static final String ENTERPRISE_ARCHITECT = "enterprise-architect";
+
+    private static final TransformerFactory TRANSFORMER_FACTORY = new TransformerFactoryImpl();
+
+    private static final Map<String, Templates> TEMPLATES = new ConcurrentHashMap<>();
+
+    static {
+        register(ENTERPRISE_ARCHITECT, Objects.requireNonNull(
+                StylesheetRegistry.class.getClassLoader().getResource("ea-transform.xsl")));
+    }
+
+    private StylesheetRegistry() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Compiles the specified stylesheet and registers it under the specified name.
+     * <p>
+     * A stylesheet previously registered under the same name is replaced.
+     *
+     * @param name       Stylesheet name
+     * @param stylesheet Location of the stylesheet
+     * @throws ControlStructureParserException When the stylesheet cannot be compiled
+     */
+    public static void register(String name, URL stylesheet) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(stylesheet);
+        register(name, new StreamSource(stylesheet.toExternalForm()));
+    }
+
+    /**
+     * Compiles the specified stylesheet and registers it under the specified name.
+     * <p>
+     * A stylesheet previously registered under the same name is replaced.
+     *
+     * @param name       Stylesheet name
+     * @param stylesheet Stylesheet source
+     * @throws ControlStructureParserException When the stylesheet cannot be compiled
+     */
+    public static void register(String name, Source stylesheet) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(stylesheet);
+        LOG.debug("Compiling stylesheet '{}'.", name);
+        TEMPLATES.put(name, compile(name, stylesheet));
+    }
+
+    private static Templates compile(String name, Source stylesheet) {
+        try {
+            synchronized (TRANSFORMER_FACTORY) {
+                return TRANSFORMER_FACTORY.newTemplates(stylesheet);
+            }
+        } catch (TransformerConfigurationException e) {
+            throw new ControlStructureParserException("Unable to compile stylesheet " + name, e);
+        }
+    }
+
+    /**
+     * Checks whether a stylesheet with the specified name is registered.
+     *
+     * @param name Stylesheet name
+     * @return {@code true} if the stylesheet is registered, {@code false} otherwise
+     */
+    public static boolean isRegistered(String name) {
+        return TEMPLATES.containsKey(name);
+    }
+
+    /**
+     * Gets compiled stylesheet with the specified name.
+     *
+     * @param name Stylesheet name
+     * @return Compiled stylesheet
+     * @throws IllegalArgumentException When no stylesheet with the specified name is registered
+     */
+    public static Templates getTemplates(String name) {
+        final Templates templates = TEMPLATES.get(name);
+        if (templates == null) {
+            throw new IllegalArgumentException("No stylesheet registered under name " + name);
+        }
+        return templates;
+    }
+
+    /**
+     * Creates a new transformer based on the stylesheet with the specified name.
+     * <p>
+     * The transformer is not thread-safe and should be used for a single transformation.
+     *
+     * @param name Stylesheet name
+     * @return New transformer
+     * @throws IllegalArgumentException When no stylesheet with the specified name is registered
+     * @throws ControlStructureParserException When the transformer cannot be created
+     */
+    public static Transformer newTransformer(String name) {
+        try {
+            return getTemplates(name).newTransformer();
+        } catch (TransformerConfigurationException e) {
+            throw new ControlStructureParserException("Unable to create transformer for stylesheet " + name, e);
+        }
+    }
+}
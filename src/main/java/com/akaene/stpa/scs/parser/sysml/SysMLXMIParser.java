@@ -1,10 +1,18 @@
 package com.akaene.stpa.scs.parser.sysml;
 
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
 import com.akaene.stpa.scs.model.Model;
 import com.akaene.stpa.scs.parser.ControlStructureParser;
+import com.akaene.stpa.scs.parser.InputDescriptor;
+import com.akaene.stpa.scs.parser.InputFormat;
+import com.akaene.stpa.scs.parser.InputFormatDetector;
+import com.akaene.stpa.scs.parser.ParseOptions;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.URIConverter;
 
 import java.io.File;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Parses control structure from a SysML XMI artifact.
@@ -17,20 +25,90 @@ public class SysMLXMIParser implements ControlStructureParser {
 
     public static String[] SUPPORTED_FILE_EXTENSIONS = {"xmi", "uml", "xml"};
 
-    private final List<ControlStructureParser> parsers = List.of(
-            new UnzippingSysMLXMIParser(this),
-            new EnterpriseArchitectSysMLXMIParser(),
-            new EMFSysMLXMIParser()
-    );
+    private final UnzippingSysMLXMIParser unzippingParser;
+
+    private final EnterpriseArchitectSysMLXMIParser enterpriseArchitectParser;
+
+    private final EMFSysMLXMIParser emfParser;
+
+    public SysMLXMIParser() {
+        this(false);
+    }
+
+    /**
+     * Creates a new parser.
+     *
+     * @param parallel Whether to extract model content in parallel
+     * @see EMFSysMLXMIParser#EMFSysMLXMIParser(boolean)
+     */
+    public SysMLXMIParser(boolean parallel) {
+        this(parallel, ParseOptions.all());
+    }
+
+    /**
+     * Creates a new parser building only the specified parts of the model.
+     *
+     * @param parallel Whether to extract model content in parallel
+     * @param options  Specification of the model parts to build
+     * @see EMFSysMLXMIParser#EMFSysMLXMIParser(boolean, ParseOptions)
+     */
+    public SysMLXMIParser(boolean parallel, ParseOptions options) {
+        this.unzippingParser = new UnzippingSysMLXMIParser(this::parse);
+        this.enterpriseArchitectParser = new EnterpriseArchitectSysMLXMIParser(parallel, options);
+        this.emfParser = new EMFSysMLXMIParser(parallel, options);
+    }
 
     @Override
     public Model parse(File input) {
-        return parsers.stream().filter(p -> p.supports(input)).findFirst().map(p -> p.parse(input))
-                      .orElseThrow(() -> new IllegalArgumentException("This parser does not support file " + input.getName()));
+        return parse(InputFormatDetector.detect(input));
+    }
+
+    @Override
+    public Model parse(InputDescriptor input) {
+        return switch (input.format()) {
+            case ZIP -> unzippingParser.parse(input);
+            case ENTERPRISE_ARCHITECT_XMI -> enterpriseArchitectParser.parse(input.file());
+            case XMI -> emfParser.parse(input.file());
+            default -> throw new IllegalArgumentException(
+                    "This parser does not support file " + input.file().getName());
+        };
+    }
+
+    /**
+     * Parses control structure from the model at the specified location (e.g., an entry of a ZIP archive).
+     *
+     * @param input Location of the model
+     * @return Parsed model
+     * @see EMFSysMLXMIParser#parse(URI)
+     */
+    public Model parse(URI input) {
+        return isEnterpriseArchitectContent(input) ? enterpriseArchitectParser.parse(input) : emfParser.parse(input);
+    }
+
+    private static boolean isEnterpriseArchitectContent(URI input) {
+        try (final InputStream in = URIConverter.INSTANCE.createInputStream(input)) {
+            return InputFormatDetector.detect(in, URI.decode(input.lastSegment())) ==
+                    InputFormat.ENTERPRISE_ARCHITECT_XMI;
+        } catch (IOException e) {
+            throw new ControlStructureParserException("Unable to read file " + URI.decode(input.lastSegment()), e);
+        }
+    }
+
+    @Override
+    public ParseOptions getOptions() {
+        return emfParser.getOptions();
     }
 
     @Override
     public boolean supports(File input) {
-        return input.exists() && parsers.stream().anyMatch(p -> p.supports(input));
+        return supports(InputFormatDetector.detect(input));
+    }
+
+    @Override
+    public boolean supports(InputDescriptor input) {
+        return switch (input.format()) {
+            case ZIP, ENTERPRISE_ARCHITECT_XMI, XMI -> true;
+            default -> false;
+        };
     }
 }
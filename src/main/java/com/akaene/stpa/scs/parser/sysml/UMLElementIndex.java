@@ -0,0 +1,100 @@
+package com.akaene.stpa.scs.parser.sysml;
+
+import org.eclipse.uml2.uml.Association;
+import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Connector;
+import org.eclipse.uml2.uml.Element;
+import org.eclipse.uml2.uml.Port;
+import org.eclipse.uml2.uml.Property;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Index of UML model elements by their kind.
+ * <p>
+ * The index is built by a single traversal of the model containment tree. Elements are indexed in the same order as
+ * returned by {@link Element#allOwnedElements()}, but without materializing the list of all owned elements.
+ */
+public class UMLElementIndex {
+
+    private final List<Class> classes = new ArrayList<>();
+
+    private final List<Connector> connectors = new ArrayList<>();
+
+    private final List<Association> associations = new ArrayList<>();
+
+    private final List<Port> ports = new ArrayList<>();
+
+    private final List<Property> properties = new ArrayList<>();
+
+    private UMLElementIndex() {
+    }
+
+    /**
+     * Builds index of all elements owned (directly or indirectly) by the specified root element.
+     *
+     * @param root Root element, typically the model
+     * @return Element index
+     */
+    public static UMLElementIndex build(Element root) {
+        final UMLElementIndex index = new UMLElementIndex();
+        index.indexOwnedElements(root);
+        return index;
+    }
+
+    private void indexOwnedElements(Element owner) {
+        for (Element element : owner.getOwnedElements()) {
+            add(element);
+            indexOwnedElements(element);
+        }
+    }
+
+    private void add(Element element) {
+        // An element may belong to multiple kinds (e.g., association class)
+        if (element instanceof Class cls) {
+            classes.add(cls);
+        }
+        if (element instanceof Association association) {
+            associations.add(association);
+        }
+        if (element instanceof Connector connector) {
+            connectors.add(connector);
+        } else if (element instanceof Port port) {
+            ports.add(port);
+        } else if (element instanceof Property property) {
+            properties.add(property);
+        }
+    }
+
+    public List<Class> getClasses() {
+        return Collections.unmodifiableList(classes);
+    }
+
+    public List<Connector> getConnectors() {
+        return Collections.unmodifiableList(connectors);
+    }
+
+    public List<Association> getAssociations() {
+        return Collections.unmodifiableList(associations);
+    }
+
+    /**
+     * Gets ports in the model.
+     *
+     * @return List of ports
+     */
+    public List<Port> getPorts() {
+        return Collections.unmodifiableList(ports);
+    }
+
+    /**
+     * Gets properties in the model, excluding ports.
+     *
+     * @return List of properties which are not ports
+     */
+    public List<Property> getProperties() {
+        return Collections.unmodifiableList(properties);
+    }
+}
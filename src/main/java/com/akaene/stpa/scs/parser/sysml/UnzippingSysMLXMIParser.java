@@ -1,9 +1,17 @@
 package com.akaene.stpa.scs.parser.sysml;
 
 import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.metrics.ParsingMetrics;
+import com.akaene.stpa.scs.metrics.ParsingPhase;
+import com.akaene.stpa.scs.metrics.PhaseMeasurement;
 import com.akaene.stpa.scs.model.Model;
 import com.akaene.stpa.scs.parser.ControlStructureParser;
+import com.akaene.stpa.scs.parser.InputDescriptor;
+import com.akaene.stpa.scs.parser.InputFormat;
+import com.akaene.stpa.scs.parser.InputFormatDetector;
+import com.akaene.stpa.scs.parser.ParseOptions;
 import com.akaene.stpa.scs.util.UnzipFile;
+import org.eclipse.emf.common.util.URI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,14 +20,22 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 /**
  * Control structure parser that supports ZIP archives.
  * <p>
- * It works by first unzipping the input archive into a temporary directory, then running a parser and returning its
- * result. The temporary directory is then removed.
+ * The parser works in one of two modes:
+ * <ul>
+ *     <li>In-memory mode, where the model file is read directly from the archive using an EMF {@literal archive:} URI.
+ *     Profiles referenced by the model are read from the archive as well and nothing is written to disk.</li>
+ *     <li>Extracting mode, where the input archive is first unzipped into a temporary directory, then the decorated
+ *     parser is run on the model file. The temporary directory is removed afterwards.</li>
+ * </ul>
  */
 public class UnzippingSysMLXMIParser implements ControlStructureParser {
 
@@ -29,57 +45,134 @@ public class UnzippingSysMLXMIParser implements ControlStructureParser {
 
     private final ControlStructureParser decorated;
 
+    private final ArchiveEntryParser entryParser;
+
+    /**
+     * Creates a parser which extracts the archive into a temporary directory and parses the model file using the
+     * specified parser.
+     *
+     * @param decorated Parser of the extracted model file
+     */
     public UnzippingSysMLXMIParser(ControlStructureParser decorated) {
-        this.decorated = decorated;
+        this.decorated = Objects.requireNonNull(decorated);
+        this.entryParser = null;
+    }
+
+    /**
+     * Creates a parser which parses the model file directly from the archive using the specified parser.
+     *
+     * @param entryParser Parser of the model archive entry
+     */
+    public UnzippingSysMLXMIParser(ArchiveEntryParser entryParser) {
+        this.decorated = null;
+        this.entryParser = Objects.requireNonNull(entryParser);
     }
 
     @Override
     public Model parse(File input) {
-        if (!isZipFile(input)) {
+        return parse(InputFormatDetector.detect(input));
+    }
+
+    @Override
+    public Model parse(InputDescriptor input) {
+        if (input.format() != InputFormat.ZIP) {
             throw new IllegalArgumentException("Expected a ZIP file.");
         }
+        return entryParser != null ? parseInMemory(input.file()) : parseExtracted(input.file());
+    }
+
+    private Model parseInMemory(File input) {
+        LOG.debug("Input is a ZIP file. Parsing model directly from it.");
+        final List<String> models;
+        try (final PhaseMeasurement m = ParsingMetrics.start(ParsingPhase.UNZIP, input.getName(), input.length());
+             final ZipFile zipFile = new ZipFile(input)) {
+            m.setElementCount(zipFile.size());
+            // Only top-level entries are considered, consistent with the extracting mode
+            models = zipFile.stream().filter(e -> !e.isDirectory() && !e.getName().contains("/"))
+                            .map(ZipEntry::getName)
+                            .filter(ZipModelFileFilter::isModelFile)
+                            .toList();
+        } catch (IOException e) {
+            throw new ControlStructureParserException("Unable to read ZIP file " + input.getName(), e);
+        }
+        checkSingleModel(models.size());
+        final URI archiveUri = URI.createURI("archive:" + URI.createFileURI(input.getAbsolutePath()) + "!/");
+        return entryParser.parse(archiveUri.appendSegment(URI.encodeSegment(models.getFirst(), false)));
+    }
+
+    private static void checkSingleModel(int modelCount) {
+        if (modelCount != 1) {
+            throw new ControlStructureParserException(
+                    "Expected a single model file in the archive, but found " + modelCount);
+        }
+    }
+
+    private Model parseExtracted(File input) {
+        LOG.debug("Input is a ZIP file. Unzipping it first.");
+        final Path tempDir;
         try {
-            LOG.debug("Input is a ZIP file. Unzipping it first.");
-            final ZipFile zipFile = new ZipFile(input);
-            final Path tempDir = Files.createTempDirectory("sysml-xmi-parser");
-            UnzipFile.unzip(zipFile, tempDir);
+            tempDir = Files.createTempDirectory("sysml-xmi-parser");
+        } catch (IOException e) {
+            throw new ControlStructureParserException(
+                    "Unable to create temp directory for extracting provided ZIP file.", e);
+        }
+        try {
+            try (final PhaseMeasurement m = ParsingMetrics.start(ParsingPhase.UNZIP, input.getName(), input.length());
+                 final ZipFile zipFile = new ZipFile(input)) {
+                UnzipFile.unzip(zipFile, tempDir);
+                m.setElementCount(zipFile.size());
+            }
             final File[] models = tempDir.toFile().listFiles(new ZipModelFileFilter());
             if (models == null) {
                 throw new ControlStructureParserException("Unable to unzip file.");
             }
-            if (models.length != 1) {
-                deleteTempUnzipDirectory(tempDir);
-                throw new ControlStructureParserException(
-                        "Expected a single model file in the archive, but found " + models.length);
-            }
-            final Model result = decorated.parse(models[0]);
-            deleteTempUnzipDirectory(tempDir);
-            return result;
+            checkSingleModel(models.length);
+            return decorated.parse(models[0]);
         } catch (IOException e) {
-            throw new ControlStructureParserException(
-                    "Unable to create temp directory for extracting provided ZIP file.", e);
+            throw new ControlStructureParserException("Unable to unzip file " + input.getName(), e);
+        } finally {
+            deleteTempUnzipDirectory(tempDir);
         }
     }
 
-    private static void deleteTempUnzipDirectory(Path tempDir) throws IOException {
+    private static void deleteTempUnzipDirectory(Path tempDir) {
         try (final Stream<Path> toDelete = Files.walk(tempDir)) {
             toDelete.sorted(Comparator.reverseOrder())
                     .map(Path::toFile)
                     .forEach(File::delete);
+        } catch (IOException e) {
+            LOG.warn("Unable to delete temporary directory {}.", tempDir, e);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Options of an archive entry parser are not known, so all the model parts are reported for it.
+     */
+    @Override
+    public ParseOptions getOptions() {
+        return decorated != null ? decorated.getOptions() : ParseOptions.all();
+    }
+
     @Override
     public boolean supports(File input) {
         return isZipFile(input);
     }
 
+    @Override
+    public boolean supports(InputDescriptor input) {
+        return input.format() == InputFormat.ZIP;
+    }
+
+    /**
+     * Checks whether the specified file is a ZIP archive, based on its content.
+     *
+     * @param file File to check
+     * @return {@code true} if the file is a ZIP archive, {@code false} otherwise
+     * @see InputFormatDetector
+     */
     public static boolean isZipFile(File file) {
-        try {
-            return file != null && file.exists() && file.isFile() && ZIP_MIME_TYPE.equals(
-                    Files.probeContentType(file.toPath()));
-        } catch (IOException e) {
-            throw new ControlStructureParserException("Unable to determine file type.", e);
-        }
+        return file != null && InputFormatDetector.detect(file).format() == InputFormat.ZIP;
     }
 }
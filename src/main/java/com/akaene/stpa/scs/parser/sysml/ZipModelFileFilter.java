@@ -11,8 +11,32 @@ class ZipModelFileFilter implements FilenameFilter {
 
     @Override
     public boolean accept(File dir, String name) {
-        final Optional<String> extension = Arrays.stream(SysMLXMIParser.SUPPORTED_FILE_EXTENSIONS).filter(name::endsWith)
-                                                 .findAny();
+        return isModelFile(name);
+    }
+
+    /**
+     * Checks whether the specified file name denotes a model file (as opposed to a profile file).
+     *
+     * @param name File name
+     * @return {@code true} if the file is a model file, {@code false} otherwise
+     */
+    static boolean isModelFile(String name) {
+        final Optional<String> extension = supportedExtension(name);
         return extension.isPresent() && !name.endsWith(PROFILE_FILE_SUFFIX + "." + extension.get());
     }
+
+    /**
+     * Checks whether the specified file name denotes a profile file.
+     *
+     * @param name File name
+     * @return {@code true} if the file is a profile file, {@code false} otherwise
+     */
+    static boolean isProfileFile(String name) {
+        final Optional<String> extension = supportedExtension(name);
+        return extension.isPresent() && name.endsWith(PROFILE_FILE_SUFFIX + "." + extension.get());
+    }
+
+    private static Optional<String> supportedExtension(String name) {
+        return Arrays.stream(SysMLXMIParser.SUPPORTED_FILE_EXTENSIONS).filter(name::endsWith).findAny();
+    }
 }
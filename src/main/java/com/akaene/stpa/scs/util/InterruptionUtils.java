@@ -0,0 +1,19 @@
+package com.akaene.stpa.scs.util;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+
+public class InterruptionUtils {
+
+    /**
+     * Stops parsing when the current thread has been interrupted (e.g., because asynchronous parsing was cancelled).
+     * <p>
+     * The interrupted status of the thread is preserved.
+     *
+     * @throws ControlStructureParserException When the current thread has been interrupted
+     */
+    public static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new ControlStructureParserException("Parsing has been interrupted.");
+        }
+    }
+}
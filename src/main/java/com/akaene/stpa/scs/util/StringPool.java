@@ -0,0 +1,42 @@
+package com.akaene.stpa.scs.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deduplicates strings used in a model.
+ * <p>
+ * Names and qualified names obtained from source models are often equal strings held in separate instances (e.g., a
+ * qualified name is computed anew every time it is requested from EMF). The pool returns one canonical instance for
+ * all the equal strings, so that the other instances can be garbage collected.
+ * <p>
+ * Unlike {@link String#intern()}, the pool is meant to be used for a single model and discarded afterward. It is
+ * safe for concurrent use.
+ */
+public class StringPool {
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the canonical instance of the specified string.
+     *
+     * @param value String to deduplicate, possibly {@code null}
+     * @return Canonical instance equal to the specified string, {@code null} if the argument is {@code null}
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        final String existing = strings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Gets the number of distinct strings in the pool.
+     *
+     * @return Pool size
+     */
+    public int size() {
+        return strings.size();
+    }
+}
@@ -3,6 +3,7 @@ package com.akaene.stpa.scs.util;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.zip.ZipEntry;
@@ -30,8 +31,10 @@ public class UnzipFile {
                 if (!parent.isDirectory() && !parent.mkdirs()) {
                     throw new IOException("Failed to create directory " + parent);
                 }
-                final FileOutputStream out = new FileOutputStream(newFile);
-                file.getInputStream(zipEntry).transferTo(out);
+                try (final InputStream in = file.getInputStream(zipEntry);
+                     final FileOutputStream out = new FileOutputStream(newFile)) {
+                    in.transferTo(out);
+                }
             }
         }
     }
@@ -0,0 +1,29 @@
+package com.akaene.stpa.scs.watch;
+
+import com.akaene.stpa.scs.parser.ParsingResult;
+
+import java.nio.file.Path;
+
+/**
+ * Receives models re-parsed by a {@link ModelDirectoryWatcher}.
+ * <p>
+ * Listeners of one watcher are never invoked concurrently, but they are invoked from the watcher threads, so they should
+ * be fast.
+ */
+public interface ModelChangeListener {
+
+    /**
+     * Called when a model file has been (re-)parsed.
+     *
+     * @param result Result of parsing the file, containing either the updated model or the parsing error
+     */
+    void modelUpdated(ParsingResult result);
+
+    /**
+     * Called when a previously parsed model file has been deleted.
+     *
+     * @param file Deleted file
+     */
+    default void modelRemoved(Path file) {
+    }
+}
@@ -0,0 +1,351 @@
+package com.akaene.stpa.scs.watch;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.parser.AsyncControlStructureParser;
+import com.akaene.stpa.scs.parser.ControlStructureParsers;
+import com.akaene.stpa.scs.parser.ParsingResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a directory tree and re-parses model files when they change.
+ * <p>
+ * Model files, i.e., files with extensions {@code .graphml}, {@code .xmi}, {@code .uml}, {@code .xml} and {@code .zip}
+ * except SysML profiles (see {@link ControlStructureParsers#isModelFile(Path)}), are parsed via
+ * {@link ControlStructureParsers} when the watcher is started and then whenever they are created or modified. Bursts
+ * of file system events (e.g., an editor saving a file in several writes) are debounced, i.e., a file is parsed once no
+ * event concerning it arrived for the debounce period. Files whose size and modification time did not change since
+ * they were last parsed are not parsed again.
+ * <p>
+ * At most {@code parallelism} files are parsed at the same time. A newer change of a file cancels parsing of its
+ * previous version, so that listeners receive only up-to-date models. Published models are frozen.
+ */
+public class ModelDirectoryWatcher implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ModelDirectoryWatcher.class);
+
+    private final Path root;
+
+    private final Duration debounce;
+
+    private final WatchService watchService;
+
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ExecutorService parsingExecutor;
+
+    private final AsyncControlStructureParser parser;
+
+    private final List<ModelChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Map<Path, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Guards parsing in progress, parsed versions and publishing of models.
+     */
+    private final Object lock = new Object();
+
+    private final Map<Path, CompletableFuture<Model>> inProgress = new HashMap<>();
+
+    private final Map<Path, FileVersion> parsedVersions = new HashMap<>();
+
+    private final Set<Path> published = new HashSet<>();
+
+    private Thread watchThread;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a watcher of the specified directory tree.
+     * <p>
+     * The watcher does not watch the directory until it is {@link #start() started}.
+     *
+     * @param directory   Root of the watched directory tree
+     * @param debounce    Period without file system events after which a changed file is parsed
+     * @param parallelism Maximum number of files parsed at the same time
+     * @throws IOException When unable to create a watch service for the directory
+     */
+    public ModelDirectoryWatcher(Path directory, Duration debounce, int parallelism) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException(directory + " is not a directory.");
+        }
+        if (debounce.isNegative()) {
+            throw new IllegalArgumentException("Debounce period must not be negative.");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.root = directory;
+        this.debounce = debounce;
+        this.watchService = directory.getFileSystem().newWatchService();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("model-directory-watcher-debounce").factory());
+        this.parsingExecutor = Executors.newFixedThreadPool(parallelism, Thread.ofVirtual()
+                                                                                .name("model-directory-watcher-parser-",
+                                                                                      0).factory());
+        this.parser = AsyncControlStructureParser.forAllSupportedFiles(parsingExecutor);
+    }
+
+    /**
+     * Registers the specified listener.
+     *
+     * @param listener Listener to register
+     */
+    public void addListener(ModelChangeListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Unregisters the specified listener.
+     *
+     * @param listener Listener to unregister
+     */
+    public void removeListener(ModelChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts watching the directory tree.
+     * <p>
+     * All the supported files already present in the directory tree are parsed.
+     *
+     * @throws IOException When unable to register the directory tree with the watch service
+     */
+    public synchronized void start() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Watcher has been closed.");
+        }
+        if (watchThread != null) {
+            throw new IllegalStateException("Watcher has already been started.");
+        }
+        registerTree(root);
+        this.watchThread = Thread.ofPlatform().daemon().name("model-directory-watcher").start(this::processEvents);
+    }
+
+    private void registerTree(Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                final WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                                  StandardWatchEventKinds.ENTRY_MODIFY,
+                                                  StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && ControlStructureParsers.isModelFile(file)) {
+                    schedule(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void processEvents() {
+        try {
+            while (!closed) {
+                final WatchKey key = watchService.take();
+                final Path directory = watchedDirectories.get(key);
+                if (directory != null) {
+                    key.pollEvents().forEach(event -> processEvent(directory, event));
+                }
+                if (!key.reset()) {
+                    watchedDirectories.remove(key);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException | RejectedExecutionException e) {
+            // The watcher has been closed
+        }
+    }
+
+    private void processEvent(Path directory, WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            LOG.debug("File system events in {} have been lost, rescanning the directory.", directory);
+            registerTreeSafely(directory);
+            return;
+        }
+        final Path path = directory.resolve((Path) event.context());
+        if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+            // Saving often replaces the file, so deletion is debounced as well
+            schedule(path);
+        } else if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                registerTreeSafely(path);
+            }
+        } else if (ControlStructureParsers.isModelFile(path)) {
+            schedule(path);
+        }
+    }
+
+    private void registerTreeSafely(Path directory) {
+        try {
+            registerTree(directory);
+        } catch (IOException e) {
+            LOG.warn("Unable to watch directory {}.", directory, e);
+        }
+    }
+
+    private void schedule(Path file) {
+        pending.compute(file, (f, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            return scheduler.schedule(() -> refresh(f), debounce.toMillis(), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void refresh(Path path) {
+        pending.remove(path);
+        if (Files.notExists(path, LinkOption.NOFOLLOW_LINKS)) {
+            remove(path);
+        } else if (ControlStructureParsers.isModelFile(path) && Files.isRegularFile(path)) {
+            parse(path);
+        }
+    }
+
+    private void parse(Path file) {
+        final FileVersion version;
+        try {
+            version = FileVersion.of(file);
+        } catch (NoSuchFileException e) {
+            // Deleted in the meantime, the deletion is processed once its event is debounced
+            return;
+        } catch (IOException e) {
+            LOG.warn("Unable to read attributes of file {}.", file, e);
+            return;
+        }
+        synchronized (lock) {
+            if (closed || version.equals(parsedVersions.get(file))) {
+                return;
+            }
+            parsedVersions.put(file, version);
+            final CompletableFuture<Model> previous = inProgress.remove(file);
+            if (previous != null) {
+                LOG.trace("Cancelling parsing of outdated version of {}.", file);
+                previous.cancel(true);
+            }
+            LOG.debug("Parsing changed file {}.", file);
+            final CompletableFuture<Model> future = parser.parse(file.toFile());
+            inProgress.put(file, future);
+            future.whenComplete((model, error) -> publish(file, future, model, error));
+        }
+    }
+
+    private void publish(Path file, CompletableFuture<Model> future, Model model, Throwable error) {
+        synchronized (lock) {
+            if (closed || !inProgress.remove(file, future)) {
+                // Superseded by a newer version of the file or the file has been deleted
+                return;
+            }
+            final ParsingResult result = error == null ? ParsingResult.success(file.toFile(), model.freeze()) :
+                                         ParsingResult.failure(file.toFile(), toParserException(file, error));
+            published.add(file);
+            listeners.forEach(listener -> {
+                try {
+                    listener.modelUpdated(result);
+                } catch (RuntimeException e) {
+                    LOG.warn("Model change listener {} failed.", listener, e);
+                }
+            });
+        }
+    }
+
+    private static ControlStructureParserException toParserException(Path file, Throwable error) {
+        return error instanceof ControlStructureParserException e ? e :
+               new ControlStructureParserException("Unable to parse file " + file.getFileName(), error);
+    }
+
+    private void remove(Path path) {
+        pending.entrySet().removeIf(e -> {
+            if (e.getKey().startsWith(path)) {
+                e.getValue().cancel(false);
+                return true;
+            }
+            return false;
+        });
+        synchronized (lock) {
+            inProgress.entrySet().removeIf(e -> {
+                if (e.getKey().startsWith(path)) {
+                    e.getValue().cancel(true);
+                    return true;
+                }
+                return false;
+            });
+            parsedVersions.keySet().removeIf(f -> f.startsWith(path));
+            final List<Path> removed = new ArrayList<>();
+            published.removeIf(f -> f.startsWith(path) && removed.add(f));
+            removed.forEach(f -> listeners.forEach(listener -> {
+                try {
+                    listener.modelRemoved(f);
+                } catch (RuntimeException e) {
+                    LOG.warn("Model change listener {} failed.", listener, e);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Stops watching the directory tree and cancels parsing in progress.
+     *
+     * @throws IOException When unable to close the watch service
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            this.closed = true;
+            inProgress.values().forEach(f -> f.cancel(true));
+            inProgress.clear();
+        }
+        pending.values().forEach(f -> f.cancel(false));
+        scheduler.shutdownNow();
+        parsingExecutor.shutdownNow();
+        watchService.close();
+    }
+
+    private record FileVersion(FileTime lastModified, long size) {
+
+        static FileVersion of(Path file) throws IOException {
+            final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileVersion(attributes.lastModifiedTime(), attributes.size());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.akaene.stpa.scs.diff;
+
+import com.akaene.stpa.scs.model.AggregationType;
+import com.akaene.stpa.scs.model.Association;
+import com.akaene.stpa.scs.model.AssociationEnd;
+import com.akaene.stpa.scs.model.Component;
+import com.akaene.stpa.scs.model.ComponentType;
+import com.akaene.stpa.scs.model.Connector;
+import com.akaene.stpa.scs.model.ConnectorEnd;
+import com.akaene.stpa.scs.model.DiagramNode;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.model.Stereotype;
+import com.akaene.stpa.scs.parser.ControlStructureParsers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelDiffTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"complex-model/model.xmi", "complex-model_EA.xml", "model-with-subgraphs-yed-live.graphml"})
+    void betweenReturnsEmptyDiffForModelsParsedFromSameFile(String file) throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource(file).toURI());
+        final ModelDiff result = ModelDiff.between(ControlStructureParsers.parse(input),
+                                                   ControlStructureParsers.parse(input));
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void betweenReportsAddedRemovedAndChangedComponents() {
+        final Model original = new Model();
+        final Component controller = component("Controller", "n0");
+        final Component process = component("Process", "n1");
+        original.addComponent(controller).addComponent(process);
+        final Model revised = new Model();
+        final Component revisedController = component("Controller", "n0");
+        revisedController.setDiagramNode(new DiagramNode(10, 10, 50, 20));
+        final Component sensor = component("Sensor", "n2");
+        revised.addComponent(revisedController).addComponent(sensor);
+
+        final ModelDiff result = ModelDiff.between(original, revised);
+        assertEquals(List.of(sensor), result.components().added());
+        assertEquals(List.of(process), result.components().removed());
+        assertEquals(1, result.components().changed().size());
+        assertSame(controller, result.components().changed().getFirst().original());
+        assertSame(revisedController, result.components().changed().getFirst().revised());
+    }
+
+    @Test
+    void betweenReportsChangedConnectorOnlyWhenConnectorItselfChanges() {
+        final Model original = new Model();
+        original.addConnector(new Connector("control", "e0", new ConnectorEnd(component("A", "n0"), null, null, null),
+                                            new ConnectorEnd(component("B", "n1"), null, null, null)));
+        original.addConnector(new Connector("feedback", "e1", new ConnectorEnd(component("B", "n1"), null, null, null),
+                                            new ConnectorEnd(component("A", "n0"), null, null, null)));
+        final Model revised = new Model();
+        final Component renamed = component("B renamed", "n1");
+        revised.addConnector(new Connector("control", "e0", new ConnectorEnd(component("A", "n0"), null, null, null),
+                                           new ConnectorEnd(renamed, null, null, null)));
+        final Connector feedback = new Connector("feedback", "e1", new ConnectorEnd(renamed, null, null, null),
+                                                 new ConnectorEnd(component("A", "n0"), null, null, null));
+        feedback.addStereotype(new Stereotype("Feedback"));
+        revised.addConnector(feedback);
+
+        final ModelDiff result = ModelDiff.between(original, revised);
+        assertEquals(1, result.components().changed().size());
+        assertEquals(1, result.connectors().changed().size());
+        assertSame(feedback, result.connectors().changed().getFirst().revised());
+        assertTrue(result.connectors().added().isEmpty());
+        assertTrue(result.connectors().removed().isEmpty());
+    }
+
+    @Test
+    void betweenReportsChangedClassesAssociationsAndStereotypes() {
+        final Model original = new Model();
+        final ComponentType controller = new ComponentType("Controller", "Model::Controller");
+        final ComponentType actuator = new ComponentType("Actuator", "Model::Actuator");
+        original.addClass(controller).addClass(actuator).addStereotype(new Stereotype("Block"));
+        original.addAssociation(new Association("controls", "Model::controls",
+                                                new AssociationEnd(controller, AggregationType.ASSOCIATION, null, 1, 1),
+                                                new AssociationEnd(actuator, AggregationType.ASSOCIATION, "act", 0,
+                                                                   1)));
+        final Model revised = new Model();
+        final ComponentType revisedController = new ComponentType("Controller", "Model::Controller");
+        revisedController.addStereotype(new Stereotype("Block"));
+        final ComponentType revisedActuator = new ComponentType("Actuator", "Model::Actuator");
+        revised.addClass(revisedController).addClass(revisedActuator).addStereotype(new Stereotype("Sensor"));
+        revised.addAssociation(new Association("controls", "Model::controls",
+                                               new AssociationEnd(revisedController, AggregationType.COMPOSITION, null,
+                                                                  1, 1),
+                                               new AssociationEnd(revisedActuator, AggregationType.ASSOCIATION, "act",
+                                                                  0, 1)));
+
+        final ModelDiff result = ModelDiff.between(original, revised);
+        assertEquals(List.of(revisedController), result.classes().changed().stream()
+                                                       .map(ElementDiff.Change::revised).toList());
+        assertEquals(1, result.associations().changed().size());
+        assertEquals(List.of(new Stereotype("Sensor")), result.stereotypes().added());
+        assertEquals(List.of(new Stereotype("Block")), result.stereotypes().removed());
+        assertFalse(result.isEmpty());
+    }
+
+    private static Component component(String name, String id) {
+        return new Component(name, id, null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.akaene.stpa.scs.export;
+
+import com.akaene.stpa.scs.model.AggregationType;
+import com.akaene.stpa.scs.model.Association;
+import com.akaene.stpa.scs.model.AssociationEnd;
+import com.akaene.stpa.scs.model.Component;
+import com.akaene.stpa.scs.model.ComponentType;
+import com.akaene.stpa.scs.model.Connector;
+import com.akaene.stpa.scs.model.ConnectorEnd;
+import com.akaene.stpa.scs.model.DiagramNode;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.model.Stereotype;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonModelExporterTest {
+
+    private final JsonModelExporter sut = new JsonModelExporter();
+
+    @Test
+    void exportWritesModelElementsReferencingEachOtherByQualifiedNames() throws Exception {
+        final Model model = new Model();
+        model.setName("Model \"A\"");
+        final Stereotype controller = new Stereotype("Controller");
+        final ComponentType type = new ComponentType("Controller", "Model::Controller");
+        type.addStereotype(controller);
+        final ComponentType actuator = new ComponentType("Actuator", null);
+        final Association association = new Association("controls", "Model::controls",
+                                                        new AssociationEnd(type, AggregationType.COMPOSITION, null, 1,
+                                                                           1),
+                                                        new AssociationEnd(actuator, AggregationType.ASSOCIATION,
+                                                                           "act", 0, null));
+        final Component c = new Component("c", "Model::c", type);
+        c.setDiagramNode(new DiagramNode(1, 2, 30, 40));
+        model.addStereotype(controller).addClass(type).addAssociation(association).addComponent(c);
+
+        final StringWriter out = new StringWriter();
+        sut.export(model, out);
+        assertEquals("{\"name\":\"Model \\\"A\\\"\",\"stereotypes\":[\"Controller\"]," +
+                             "\"classes\":[{\"name\":\"Controller\",\"qualifiedName\":\"Model::Controller\"," +
+                             "\"stereotypes\":[\"Controller\"],\"superTypes\":[],\"attributes\":[]}]," +
+                             "\"associations\":[{\"name\":\"controls\",\"qualifiedName\":\"Model::controls\"," +
+                             "\"stereotypes\":[],\"source\":{\"type\":\"Model::Controller\"," +
+                             "\"aggregation\":\"COMPOSITION\",\"role\":null,\"min\":1,\"max\":1}," +
+                             "\"target\":{\"type\":\"Actuator\",\"aggregation\":\"ASSOCIATION\",\"role\":\"act\"," +
+                             "\"min\":0,\"max\":null}}]," +
+                             "\"components\":[{\"name\":\"c\",\"qualifiedName\":\"Model::c\"," +
+                             "\"type\":\"Model::Controller\",\"parent\":null,\"stereotypes\":[]," +
+                             "\"diagramNode\":{\"x\":1,\"y\":2,\"width\":30,\"height\":40}}]," +
+                             "\"connectors\":[]}", out.toString());
+    }
+
+    @Test
+    void exportWritesConnectorsWithEndsReferencingComponents() throws Exception {
+        final Model model = new Model();
+        final Component controller = new Component("Controller", "n0", null);
+        final Component actuator = new Component("Actuator", "n1", null);
+        actuator.setParent(controller);
+        model.addConnector(new Connector("cmd", null, new ConnectorEnd(controller, "out", null, null),
+                                         new ConnectorEnd(actuator, null, 1, 1)));
+
+        final StringWriter out = new StringWriter();
+        sut.export(model, out);
+        final String result = out.toString();
+        assertTrue(result.contains("\"connectors\":[{\"name\":\"cmd\",\"qualifiedName\":null,\"stereotypes\":[]," +
+                                           "\"source\":{\"component\":\"n0\",\"role\":\"out\",\"min\":null," +
+                                           "\"max\":null},\"target\":{\"component\":\"n1\",\"role\":null,\"min\":1," +
+                                           "\"max\":1}}]"));
+        assertTrue(result.contains("{\"name\":\"Actuator\",\"qualifiedName\":\"n1\",\"type\":null,\"parent\":\"n0\"," +
+                                           "\"stereotypes\":[]}"));
+    }
+
+    @Test
+    void jsonWriterEscapesControlCharacters() throws Exception {
+        final StringBuilder out = new StringBuilder();
+        new JsonWriter(out).beginArray().value("a\\b\n\t\u0001").value(true).nullValue().endArray();
+        assertEquals("[\"a\\\\b\\n\\t\\u0001\",true,null]", out.toString());
+    }
+}
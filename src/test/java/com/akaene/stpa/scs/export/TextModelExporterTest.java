@@ -0,0 +1,32 @@
+package com.akaene.stpa.scs.export;
+
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.parser.ControlStructureParsers;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextModelExporterTest {
+
+    private final TextModelExporter sut = new TextModelExporter();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"complex-model/model.xmi", "simple-model_EA.xml", "simple-model.graphml"})
+    void exportWritesSameDumpAsModelToString(String file) throws Exception {
+        final Model model = ControlStructureParsers.parse(
+                new File(getClass().getClassLoader().getResource(file).toURI()));
+        final StringWriter writer = new StringWriter();
+        sut.export(model, writer);
+        assertEquals(model.toString(), writer.toString());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sut.export(model, out);
+        assertEquals(model.toString(), out.toString(StandardCharsets.UTF_8));
+    }
+}
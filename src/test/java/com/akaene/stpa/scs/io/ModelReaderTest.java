@@ -0,0 +1,170 @@
+package com.akaene.stpa.scs.io;
+
+import com.akaene.stpa.scs.model.Component;
+import com.akaene.stpa.scs.model.ComponentType;
+import com.akaene.stpa.scs.model.Connector;
+import com.akaene.stpa.scs.model.ConnectorEnd;
+import com.akaene.stpa.scs.model.DiagramNode;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.parser.ControlStructureParsers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelReaderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"complex-model/model.xmi", "complex-model_EA.xml", "simple-model.zip",
+                            "model-with-subgraphs-yed-desktop.graphml", "model-with-subgraphs-yed-live.graphml"})
+    void readReturnsModelEqualToWrittenModel(String file) throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource(file).toURI());
+        final Model expected = ControlStructureParsers.parse(input);
+        final byte[] serialized = write(expected);
+
+        final Model result = new ModelReader().read(new ByteArrayInputStream(serialized));
+        assertEquals(expected.getName(), result.getName());
+        assertEquals(new HashSet<>(expected.getStereotypes()), new HashSet<>(result.getStereotypes()));
+        assertEquals(new HashSet<>(expected.getClasses()), new HashSet<>(result.getClasses()));
+        assertEquals(new HashSet<>(expected.getAssociations()), new HashSet<>(result.getAssociations()));
+        for (ComponentType cls : expected.getClasses()) {
+            final ComponentType actual = result.getClass(cls.getName()).orElseThrow();
+            assertEquals(cls.getQualifiedName(), actual.getQualifiedName());
+            assertEquals(cls.getAttributes(), actual.getAttributes());
+        }
+        assertEquals(new HashSet<>(expected.getComponents()), new HashSet<>(result.getComponents()));
+        final Map<Component, Component> components = result.getComponents().stream().collect(
+                Collectors.toMap(Function.identity(), Function.identity()));
+        for (Component c : expected.getComponents()) {
+            final Component actual = components.get(c);
+            assertEquals(c.getType(), actual.getType());
+            assertEquals(c.getParent(), actual.getParent());
+            assertEquals(c.getStereotypes(), actual.getStereotypes());
+            assertEquals(c.getDiagramNode().map(ModelReaderTest::bounds),
+                         actual.getDiagramNode().map(ModelReaderTest::bounds));
+        }
+        assertEquals(new HashSet<>(expected.getConnectors()), new HashSet<>(result.getConnectors()));
+        final Map<Connector, Connector> connectors = result.getConnectors().stream().collect(
+                Collectors.toMap(Function.identity(), Function.identity()));
+        for (Connector c : expected.getConnectors()) {
+            assertEquals(c.toString(), connectors.get(c).toString());
+        }
+    }
+
+    private static byte[] write(Model model) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ModelWriter().write(model, out);
+        return out.toByteArray();
+    }
+
+    private static String bounds(DiagramNode node) {
+        return Arrays.asList(node.getX(), node.getY(), node.getWidth(), node.getHeight()).toString();
+    }
+
+    @Test
+    void readPreservesSharedInstancesAndUnspecifiedType() throws Exception {
+        final Model model = new Model();
+        final ComponentType type = new ComponentType("Controller", "Model::Controller");
+        model.addClass(type);
+        final Component parent = new Component("System", "System", ComponentType.UNSPECIFIED);
+        final Component child = new Component("Controller", "System::Controller", type);
+        child.setParent(parent);
+        child.setDiagramNode(new DiagramNode(-10, 20, null, 40));
+        model.addConnector(new Connector("control", null, new ConnectorEnd(child, null, 0, -1),
+                                         new ConnectorEnd(parent, "in", Integer.MIN_VALUE, Integer.MAX_VALUE)));
+
+        final Model result = new ModelReader().read(new ByteArrayInputStream(write(model)));
+        final Connector connector = result.getConnectors().iterator().next();
+        final Component resultChild = connector.getSource().type();
+        assertSame(result.getClass("Controller").orElseThrow(), resultChild.getType());
+        assertSame(connector.getTarget().type(), resultChild.getParent());
+        assertSame(ComponentType.UNSPECIFIED, resultChild.getParent().getType());
+        assertEquals(bounds(child.getDiagramNode().orElseThrow()), bounds(resultChild.getDiagramNode().orElseThrow()));
+        assertEquals(-1, connector.getSource().max());
+        assertEquals(Integer.MIN_VALUE, connector.getTarget().min());
+        assertEquals(Integer.MAX_VALUE, connector.getTarget().max());
+    }
+
+    @Test
+    void writeProducesOutputSmallerThanSourceFile() throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource("complex-model/model.xmi").toURI());
+        assertTrue(write(ControlStructureParsers.parse(input)).length < input.length() / 10);
+    }
+
+    @Test
+    void readThrowsIOExceptionForUnsupportedContent() {
+        final ModelReader sut = new ModelReader();
+        assertThrows(IOException.class, () -> sut.read(new ByteArrayInputStream("<xmi/>".getBytes())));
+    }
+
+    @Test
+    void readThrowsIOExceptionForTruncatedContent() throws Exception {
+        final Model model = new Model();
+        model.setName("Test");
+        model.addClass(new ComponentType("Controller", "Model::Controller"));
+        final byte[] serialized = write(model);
+        final ModelReader sut = new ModelReader();
+        assertThrows(IOException.class,
+                     () -> sut.read(new ByteArrayInputStream(Arrays.copyOf(serialized, serialized.length - 3))));
+    }
+
+    @Test
+    void readThrowsIOExceptionForTableSizeExceedingInput() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = header(bytes);
+        // String table size
+        ModelWriter.writeVarInt(out, Integer.MAX_VALUE);
+        out.write(new byte[]{1, 'a'});
+        out.flush();
+        final ModelReader sut = new ModelReader();
+        assertThrows(IOException.class, () -> sut.read(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    void readThrowsIOExceptionForMissingClassType() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = header(bytes);
+        // Empty string table, no name, no stereotypes, types or associations
+        out.write(new byte[]{0, 0, 0, 0, 0, 0});
+        // One class with null type reference
+        out.write(new byte[]{1, 0});
+        out.flush();
+        final ModelReader sut = new ModelReader();
+        assertThrows(IOException.class, () -> sut.read(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    void readWrapsModelConstraintViolationInIOException() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = header(bytes);
+        // Empty string table, no name, no stereotypes or types
+        out.write(new byte[]{0, 0, 0, 0, 0});
+        // One association without name and with untyped ends, whose default name cannot be derived
+        out.write(new byte[]{1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        out.flush();
+        final ModelReader sut = new ModelReader();
+        assertThrows(IOException.class, () -> sut.read(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private static DataOutputStream header(ByteArrayOutputStream bytes) throws IOException {
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(ModelWriter.MAGIC);
+        ModelWriter.writeVarInt(out, ModelWriter.VERSION);
+        return out;
+    }
+}
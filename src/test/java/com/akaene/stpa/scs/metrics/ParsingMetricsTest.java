@@ -0,0 +1,88 @@
+package com.akaene.stpa.scs.metrics;
+
+import com.akaene.stpa.scs.parser.ControlStructureParsers;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParsingMetricsTest {
+
+    private final List<PhaseMetrics> metrics = new CopyOnWriteArrayList<>();
+
+    private final ParsingMetricsListener listener = metrics::add;
+
+    @AfterEach
+    void tearDown() {
+        ParsingMetrics.removeListener(listener);
+    }
+
+    @Test
+    void parsingGraphMLReportsPhasesWithElementCountsToListener() throws Exception {
+        final File input = getInput("simple-model.graphml");
+        ParsingMetrics.addListener(listener);
+        final int connectorCount = ControlStructureParsers.parse(input).getConnectors().size();
+
+        final Map<ParsingPhase, PhaseMetrics> phases = metrics.stream().filter(m -> m.input().equals(input.getName()))
+                                                              .collect(Collectors.toMap(PhaseMetrics::phase,
+                                                                                        m -> m, (a, b) -> b));
+        assertEquals(Set.of(ParsingPhase.FORMAT_DETECTION, ParsingPhase.GRAPHML_CONTENT_READING,
+                            ParsingPhase.GRAPHML_NODE_READING, ParsingPhase.GRAPHML_EDGE_READING), phases.keySet());
+        assertEquals(connectorCount, phases.get(ParsingPhase.GRAPHML_EDGE_READING).elementCount());
+        assertTrue(phases.values().stream().allMatch(m -> m.inputSize() == input.length()));
+        assertTrue(phases.values().stream().noneMatch(m -> m.duration().isNegative()));
+    }
+
+    @Test
+    void parsingEnterpriseArchitectFileReportsTransformLoadAndExtractionPhases() throws Exception {
+        final File input = getInput("simple-model_EA.xml");
+        ParsingMetrics.addListener(listener);
+        ControlStructureParsers.parse(input);
+
+        final Set<ParsingPhase> phases = metrics.stream().filter(m -> m.input().equals(input.getName()))
+                                                .map(PhaseMetrics::phase).collect(Collectors.toSet());
+        assertTrue(phases.containsAll(Set.of(ParsingPhase.XSLT_TRANSFORM, ParsingPhase.RESOURCE_LOAD,
+                                             ParsingPhase.STEREOTYPE_EXTRACTION, ParsingPhase.CLASS_EXTRACTION,
+                                             ParsingPhase.CONNECTOR_EXTRACTION,
+                                             ParsingPhase.ASSOCIATION_EXTRACTION)));
+        // The model applies stereotypes to its two connectors
+        assertEquals(2, metrics.stream().filter(m -> m.input().equals(input.getName()) &&
+                                                    m.phase() == ParsingPhase.STEREOTYPE_EXTRACTION)
+                               .findAny().orElseThrow().elementCount());
+    }
+
+    @Test
+    void parsingRecordsFlightRecorderEventForEachPhase(@TempDir Path tempDir) throws Exception {
+        final File input = getInput("simple-model/model.xmi");
+        final Path dump = tempDir.resolve("recording.jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable("com.akaene.stpa.scs.ParsingPhase");
+            recording.start();
+            ControlStructureParsers.parse(input);
+            recording.stop();
+            recording.dump(dump);
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        final Set<String> phases = events.stream().filter(e -> input.getName().equals(e.getString("input")))
+                                         .map(e -> e.getString("phase")).collect(Collectors.toSet());
+        assertTrue(phases.containsAll(Set.of(ParsingPhase.FORMAT_DETECTION.name(), ParsingPhase.RESOURCE_LOAD.name(),
+                                             ParsingPhase.CONNECTOR_EXTRACTION.name())));
+    }
+
+    private File getInput(String name) throws Exception {
+        return new File(getClass().getClassLoader().getResource(name).toURI());
+    }
+}
@@ -0,0 +1,108 @@
+package com.akaene.stpa.scs.model;
+
+import com.akaene.stpa.scs.parser.ControlStructureParsers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"complex-model/model.xmi", "model-with-subgraphs-yed-desktop.graphml"})
+    void connectorQueriesReturnSameConnectorsAsScanningAllConnectors(String file) throws Exception {
+        final Model sut = ControlStructureParsers.parse(new File(getClass().getClassLoader().getResource(file).toURI()));
+        for (Component c : sut.getComponents()) {
+            assertEquals(sut.getConnectors().stream().filter(conn -> conn.getSource().type().equals(c))
+                            .collect(Collectors.toSet()), new HashSet<>(sut.getOutgoingConnectors(c)));
+            assertEquals(sut.getConnectors().stream().filter(conn -> conn.getTarget().type().equals(c))
+                            .collect(Collectors.toSet()), new HashSet<>(sut.getIncomingConnectors(c)));
+            assertEquals(sut.getComponents().stream().filter(child -> c.equals(child.getParent()))
+                            .collect(Collectors.toSet()), new HashSet<>(sut.getChildren(c)));
+        }
+        for (Stereotype s : sut.getStereotypes()) {
+            assertEquals(sut.getConnectors().stream().filter(conn -> conn.hasStereotype(s))
+                            .collect(Collectors.toSet()), new HashSet<>(sut.getConnectors(s)));
+        }
+    }
+
+    @Test
+    void connectorQueriesReflectConnectorsAddedAfterPreviousQuery() {
+        final Model sut = new Model();
+        final Component controller = new Component("Controller", "n0", null);
+        final Component process = new Component("Process", "n1", null);
+        final Connector control = new Connector("control", "e0", new ConnectorEnd(controller, null, null, null),
+                                                new ConnectorEnd(process, null, null, null));
+        sut.addConnector(control);
+        assertEquals(List.of(control), sut.getOutgoingConnectors(controller));
+        assertTrue(sut.getIncomingConnectors(controller).isEmpty());
+
+        final Connector feedback = new Connector("feedback", "e1", new ConnectorEnd(process, null, null, null),
+                                                 new ConnectorEnd(controller, null, null, null));
+        sut.addConnector(feedback);
+        assertEquals(List.of(feedback), sut.getIncomingConnectors(controller));
+        assertEquals(Set.of(control, feedback), new HashSet<>(sut.getConnectors()));
+    }
+
+    @Test
+    void getClassByQualifiedNameReturnsMatchingClass() {
+        final Model sut = new Model();
+        final ComponentType type = new ComponentType("Controller", "Model::Controller");
+        sut.addClass(type);
+        assertSame(type, sut.getClassByQualifiedName("Model::Controller").orElseThrow());
+        assertTrue(sut.getClassByQualifiedName("Controller").isEmpty());
+    }
+
+    @Test
+    void getClassReturnsFirstAddedClassWithMatchingName() {
+        final Model sut = new Model();
+        final ComponentType hardware = new ComponentType("Sensor", "Model::Hardware::Sensor");
+        final ComponentType software = new ComponentType("Sensor", "Model::Software::Sensor");
+        sut.addClass(hardware).addClass(software);
+        assertEquals(2, sut.getClasses().size());
+        assertSame(hardware, sut.getClass("Sensor").orElseThrow());
+        assertSame(software, sut.getClassByQualifiedName("Model::Software::Sensor").orElseThrow());
+        assertNotEquals(hardware, software);
+    }
+
+    @Test
+    void freezePreventsModificationOfModelAndItsElements() throws Exception {
+        final Model sut = ControlStructureParsers.parse(
+                new File(getClass().getClassLoader().getResource("complex-model/model.xmi").toURI()));
+        final int hashCode = sut.getClasses().iterator().next().hashCode();
+        assertSame(sut, sut.freeze());
+
+        assertTrue(sut.isFrozen());
+        assertThrows(IllegalStateException.class, () -> sut.addClass(new ComponentType("New", "Model::New")));
+        assertThrows(UnsupportedOperationException.class, () -> sut.getConnectors().clear());
+        final ComponentType cls = sut.getClasses().iterator().next();
+        assertEquals(hashCode, cls.hashCode());
+        assertThrows(IllegalStateException.class, () -> cls.addSuperType(ComponentType.UNSPECIFIED));
+        assertThrows(UnsupportedOperationException.class, () -> cls.getAttributes().clear());
+        final Component component = sut.getComponents().iterator().next();
+        assertThrows(IllegalStateException.class, () -> component.setParent(null));
+        assertThrows(IllegalStateException.class, () -> component.addStereotype(new Stereotype("New")));
+        final Connector connector = sut.getConnectors().iterator().next();
+        assertThrows(IllegalStateException.class, () -> connector.getStereotypes().clear());
+    }
+
+    @Test
+    void freezeFreezesDiagramNodesOfComponents() throws Exception {
+        final Model sut = ControlStructureParsers.parse(
+                new File(getClass().getClassLoader().getResource("simple-model.graphml").toURI())).freeze();
+        final DiagramNode node = sut.getComponents().stream().flatMap(c -> c.getDiagramNode().stream()).findAny()
+                                    .orElseThrow();
+        assertThrows(IllegalStateException.class, () -> node.setX(0));
+    }
+}
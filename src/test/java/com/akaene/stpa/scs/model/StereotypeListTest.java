@@ -0,0 +1,54 @@
+package com.akaene.stpa.scs.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StereotypeListTest {
+
+    private final StereotypeList sut = new StereotypeList();
+
+    @Test
+    void behavesLikeArrayListWhenElementsAreAddedAndRemoved() {
+        final List<Stereotype> expected = new ArrayList<>();
+        final List<Stereotype> stereotypes = IntStream.range(0, 5).mapToObj(i -> new Stereotype("S" + i)).toList();
+        for (Stereotype s : stereotypes) {
+            expected.add(s);
+            sut.add(s);
+            assertEquals(expected, sut);
+        }
+        expected.add(1, new Stereotype("Inserted"));
+        sut.add(1, new Stereotype("Inserted"));
+        assertEquals(expected, sut);
+        expected.set(0, new Stereotype("Replaced"));
+        sut.set(0, new Stereotype("Replaced"));
+        assertEquals(expected, sut);
+        while (!expected.isEmpty()) {
+            assertEquals(expected.remove(expected.size() / 2), sut.remove(sut.size() / 2));
+            assertEquals(expected, sut);
+            assertEquals(expected.hashCode(), sut.hashCode());
+        }
+        assertTrue(sut.isEmpty());
+    }
+
+    @Test
+    void getThrowsIndexOutOfBoundsExceptionForInvalidIndex() {
+        sut.add(new Stereotype("S"));
+        assertThrows(IndexOutOfBoundsException.class, () -> sut.get(1));
+    }
+
+    @Test
+    void addStereotypeToElementIgnoresDuplicates() {
+        final Connector connector = new Connector("c", "c", null, null);
+        connector.addStereotype(new Stereotype("ControlAction"));
+        connector.addStereotype(new Stereotype("ControlAction"));
+        connector.addStereotype(new Stereotype("Feedback"));
+        assertEquals(List.of(new Stereotype("ControlAction"), new Stereotype("Feedback")), connector.getStereotypes());
+    }
+}
@@ -0,0 +1,78 @@
+package com.akaene.stpa.scs.parser;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.parser.graphml.GraphMLParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncControlStructureParserTest {
+
+    @Test
+    void parseReturnsFutureCompletedWithParsedModel() throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource("simple-model.graphml").toURI());
+        final Model result = new AsyncControlStructureParser(new GraphMLParser()).parse(input).get(10, TimeUnit.SECONDS);
+        assertFalse(result.getConnectors().isEmpty());
+    }
+
+    @Test
+    void getOptionsReturnsOptionsOfUnderlyingParser() {
+        final ParseOptions options = ParseOptions.controlStructure();
+        assertEquals(options, new AsyncControlStructureParser(new GraphMLParser(options)).getOptions());
+        assertEquals(ParseOptions.all(), AsyncControlStructureParser.forAllSupportedFiles().getOptions());
+    }
+
+    @Test
+    void parseReturnsFutureCompletedExceptionallyWhenParsingFails() throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource("invalid-model.xml").toURI());
+        final CompletableFuture<Model> result = AsyncControlStructureParser.forAllSupportedFiles().parse(input);
+        final ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ControlStructureParserException.class, ex.getCause());
+    }
+
+    @Test
+    void cancelInterruptsParsingInProgress() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final ControlStructureParser blockingParser = new ControlStructureParser() {
+            @Override
+            public Model parse(File input) {
+                started.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return new Model();
+            }
+
+            @Override
+            public boolean supports(File input) {
+                return true;
+            }
+        };
+        try (final ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            final CompletableFuture<Model> result = new AsyncControlStructureParser(blockingParser, executor).parse(
+                    new File("model.xmi"));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertTrue(result.cancel(true));
+            assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+            assertTrue(result.isCancelled());
+            // The executor thread is not left interrupted
+            assertFalse(executor.submit(() -> Thread.currentThread().isInterrupted()).get());
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.akaene.stpa.scs.parser;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.parser.graphml.GraphMLParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingControlStructureParserTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final CountingParser decorated = new CountingParser();
+
+    @Test
+    void parseReturnsCachedModelForFileWithSameContent() throws Exception {
+        final File input = getInput("simple-model.graphml");
+        final File copy = copy(input, "copy.graphml");
+        final CachingControlStructureParser sut = new CachingControlStructureParser(decorated, Long.MAX_VALUE);
+
+        final Model result = sut.parse(input);
+        assertTrue(result.isFrozen());
+        assertSame(result, sut.parse(copy));
+        assertEquals(1, decorated.count.get());
+        assertEquals(new CachingControlStructureParser.Statistics(1, 0, 1, 0), sut.getStatistics());
+    }
+
+    @Test
+    void parseEvictsLeastRecentlyUsedModelWhenMemoryLimitIsExceeded() throws Exception {
+        final File first = getInput("simple-model.graphml");
+        final File second = getInput("simple-model-yed-live.graphml");
+        final CachingControlStructureParser sut = new CachingControlStructureParser(decorated,
+                                                                                    Math.max(first.length(),
+                                                                                             second.length()));
+
+        sut.parse(first);
+        sut.parse(second);
+        sut.parse(first);
+        assertEquals(3, decorated.count.get());
+        assertEquals(2, sut.getStatistics().evictions());
+    }
+
+    @Test
+    void parseReadsModelFromDiskCacheWhenNotInMemory() throws Exception {
+        final File input = getInput("simple-model.graphml");
+        final Path cacheDir = tempDir.resolve("cache");
+        final Model original = new CachingControlStructureParser(decorated, 0, cacheDir).parse(input);
+
+        final CachingControlStructureParser sut = new CachingControlStructureParser(decorated, Long.MAX_VALUE,
+                                                                                    cacheDir);
+        final Model result = sut.parse(input);
+        assertNotSame(original, result);
+        assertEquals(new HashSet<>(original.getComponents()), new HashSet<>(result.getComponents()));
+        assertEquals(new HashSet<>(original.getConnectors()), new HashSet<>(result.getConnectors()));
+        assertEquals(1, decorated.count.get());
+        assertEquals(1, sut.getStatistics().diskHits());
+    }
+
+    @Test
+    void parseDiscardsCorruptDiskCacheEntryAndParsesInput() throws Exception {
+        final File input = getInput("simple-model.graphml");
+        final Path cacheDir = tempDir.resolve("cache");
+        new CachingControlStructureParser(decorated, 0, cacheDir).parse(input);
+        try (final Stream<Path> files = Files.list(cacheDir)) {
+            for (Path f : files.toList()) {
+                Files.writeString(f, "corrupt");
+            }
+        }
+
+        final CachingControlStructureParser sut = new CachingControlStructureParser(decorated, 0, cacheDir);
+        assertTrue(sut.parse(input).getConnectors().size() > 0);
+        assertEquals(2, decorated.count.get());
+        assertEquals(1, sut.getStatistics().misses());
+    }
+
+    @Test
+    void parseDiscardsDiskCacheEntryWithInvalidBodyAndParsesInput() throws Exception {
+        final File input = getInput("simple-model.graphml");
+        final Path cacheDir = tempDir.resolve("cache");
+        new CachingControlStructureParser(decorated, 0, cacheDir).parse(input);
+        try (final Stream<Path> files = Files.list(cacheDir)) {
+            for (Path f : files.toList()) {
+                // Keep the valid header (magic number and version), then declare a class with missing type
+                final byte[] header = Arrays.copyOf(Files.readAllBytes(f), 5);
+                Files.write(f, header);
+                Files.write(f, new byte[]{0, 0, 0, 0, 0, 1, 0}, StandardOpenOption.APPEND);
+            }
+        }
+
+        final CachingControlStructureParser sut = new CachingControlStructureParser(decorated, 0, cacheDir);
+        assertTrue(sut.parse(input).getConnectors().size() > 0);
+        assertEquals(2, decorated.count.get());
+        assertEquals(1, sut.getStatistics().misses());
+        final CachingControlStructureParser next = new CachingControlStructureParser(decorated, 0, cacheDir);
+        next.parse(input);
+        assertEquals(1, next.getStatistics().diskHits());
+    }
+
+    @Test
+    void parseParsesSameContentOnlyOnceWhenRequestedConcurrently() throws Exception {
+        final File input = getInput("simple-model.graphml");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountingParser blocking = new CountingParser() {
+            @Override
+            public Model parse(File input) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.parse(input);
+            }
+        };
+        final CachingControlStructureParser sut = new CachingControlStructureParser(blocking, Long.MAX_VALUE);
+        final List<Future<Model>> results = new ArrayList<>();
+        try (final ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            final CountDownLatch ready = new CountDownLatch(4);
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    return sut.parse(input);
+                }));
+            }
+            // Release parsing only once it is running and all callers are about to request it
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            release.countDown();
+            for (Future<Model> f : results) {
+                assertSame(results.getFirst().get(), f.get());
+            }
+        }
+        assertEquals(1, blocking.count.get());
+        assertEquals(3, sut.getStatistics().hits());
+    }
+
+    @Test
+    void parseDoesNotCountWaitingForFailedParsingAsHit() throws Exception {
+        final File input = getInput("simple-model.graphml");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountingParser failing = new CountingParser() {
+            @Override
+            public Model parse(File input) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.parse(input);
+                throw new ControlStructureParserException("Unable to parse " + input.getName());
+            }
+        };
+        final CachingControlStructureParser sut = new CachingControlStructureParser(failing, Long.MAX_VALUE);
+        final List<Future<Model>> results = new ArrayList<>();
+        try (final ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            final CountDownLatch ready = new CountDownLatch(4);
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    return sut.parse(input);
+                }));
+            }
+            // Release parsing only once it is running and all callers are about to request it
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            release.countDown();
+            for (Future<Model> f : results) {
+                final ExecutionException e = assertThrows(ExecutionException.class, f::get);
+                assertInstanceOf(ControlStructureParserException.class, e.getCause());
+            }
+        }
+        assertEquals(1, failing.count.get());
+        assertEquals(0, sut.getStatistics().hits());
+    }
+
+    @Test
+    void getOptionsReturnsOptionsOfDecoratedParser() {
+        final ParseOptions options = ParseOptions.controlStructure();
+        final CachingControlStructureParser sut = new CachingControlStructureParser(
+                new CachingControlStructureParser(new GraphMLParser(options), Long.MAX_VALUE), Long.MAX_VALUE);
+        assertEquals(options, sut.getOptions());
+    }
+
+    private File getInput(String name) throws Exception {
+        return new File(getClass().getClassLoader().getResource(name).toURI());
+    }
+
+    private File copy(File input, String name) throws Exception {
+        final Path target = tempDir.resolve(name);
+        Files.copy(input.toPath(), target);
+        return target.toFile();
+    }
+
+    private static class CountingParser extends GraphMLParser {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Model parse(File input) {
+            count.incrementAndGet();
+            return super.parse(input);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.akaene.stpa.scs.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ControlStructureParserRunnerTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private final ControlStructureParserRunner sut = new ControlStructureParserRunner(
+            new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+
+    @Test
+    void runParsesModelFilesInDirectoryTreeAndPrintsJsonLinePerFile(@TempDir Path dir) throws Exception {
+        copy("simple-model.graphml", dir.resolve("simple-model.graphml"));
+        Files.createDirectory(dir.resolve("sub"));
+        copy("model-with-subgraphs-yed-live.graphml", dir.resolve("sub/subgraphs.graphml"));
+        copy("simple-model/sysml.profile.xmi", dir.resolve("sub/sysml.profile.xmi"));
+        Files.writeString(dir.resolve("notes.txt"), "Not a model");
+
+        assertEquals(0, sut.run("--threads", "2", "--format", "jsonl", dir.toString()));
+        final List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().allMatch(l -> l.startsWith("{\"file\":") && l.contains("\"success\":true")));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Parsed 2 files (0 failed) using 2 threads"));
+    }
+
+    @Test
+    void runReturnsNonZeroStatusAndReportsFailureWhenFileCannotBeParsed(@TempDir Path dir) throws Exception {
+        final Path valid = copy("simple-model.graphml", dir.resolve("simple-model.graphml"));
+        final Path invalid = copy("invalid-model.xml", dir.resolve("invalid-model.xml"));
+
+        assertEquals(1, sut.run("--format=summary", valid.toString(), invalid.toString()));
+        final List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("OK") && l.contains(valid.toString())));
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("FAILED") && l.contains(invalid.toString())));
+    }
+
+    @Test
+    void runResolvesGlobPatterns(@TempDir Path dir) throws Exception {
+        copy("simple-model.graphml", dir.resolve("a.graphml"));
+        copy("simple-model-yed-live.graphml", dir.resolve("b.graphml"));
+        copy("invalid-model.xml", dir.resolve("invalid-model.xml"));
+
+        assertEquals(0, sut.run("--format", "summary", dir + "/*.graphml"));
+        assertEquals(2, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void runPrintsModelForSingleFileInTextFormat(@TempDir Path dir) throws Exception {
+        final Path file = copy("simple-model.graphml", dir.resolve("simple-model.graphml"));
+
+        assertEquals(0, sut.run(file.toString()));
+        assertEquals(ControlStructureParsers.parse(file.toFile()).toString(),
+                     out.toString(StandardCharsets.UTF_8).strip());
+    }
+
+    @Test
+    void runPrintsWholeModelsInJsonFormat(@TempDir Path dir) throws Exception {
+        final Path file = copy("simple-model.graphml", dir.resolve("simple-model.graphml"));
+
+        assertEquals(0, sut.run("--format", "json", file.toString()));
+        final String line = out.toString(StandardCharsets.UTF_8).strip();
+        assertTrue(line.startsWith("{\"file\":"));
+        assertTrue(line.contains(",\"model\":{\"name\":"));
+        assertTrue(line.contains("\"connectors\":[{"));
+    }
+
+    @Test
+    void runThrowsIllegalArgumentExceptionForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, sut::run);
+        assertThrows(IllegalArgumentException.class, () -> sut.run("--threads", "0", "model.graphml"));
+        assertThrows(IllegalArgumentException.class, () -> sut.run("--format", "xml", "model.graphml"));
+        assertThrows(IllegalArgumentException.class, () -> sut.run("does-not-exist.graphml"));
+    }
+
+    private Path copy(String resource, Path target) throws Exception {
+        try (final InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+            Files.copy(in, target);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,122 @@
+package com.akaene.stpa.scs.parser;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.model.Component;
+import com.akaene.stpa.scs.model.ComponentType;
+import com.akaene.stpa.scs.model.Model;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ControlStructureParsersTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"complex-model/model.xmi", "complex-model_EA.xml", "simple-model.zip"})
+    void parseWithControlStructureOptionsSkipsAttributesAndAssociations(String file) throws Exception {
+        final Model full = ControlStructureParsers.parse(getInput(file));
+        final Model result = ControlStructureParsers.parse(getInput(file), ParseOptions.controlStructure());
+
+        assertTrue(result.getAssociations().isEmpty());
+        assertTrue(result.getClasses().stream().allMatch(c -> c.getAttributes().isEmpty()));
+        assertEquals(full.getClasses().stream().map(ComponentType::getQualifiedName).collect(Collectors.toSet()),
+                     result.getClasses().stream().map(ComponentType::getQualifiedName).collect(Collectors.toSet()));
+        assertEquals(full.getConnectors().size(), result.getConnectors().size());
+        assertEquals(full.getComponents().stream().map(Component::toString).collect(Collectors.toSet()),
+                     result.getComponents().stream().map(Component::toString).collect(Collectors.toSet()));
+        assertEquals(Set.copyOf(full.getStereotypes()), Set.copyOf(result.getStereotypes()));
+    }
+
+    @Test
+    void parseWithoutClassesAndStereotypesLeavesComponentsUntypedAndUnstereotyped() throws Exception {
+        final Model result = ControlStructureParsers.parse(getInput("complex-model/model.xmi"),
+                                                           ParseOptions.of(ModelPart.CONNECTORS));
+
+        assertTrue(result.getClasses().isEmpty());
+        assertTrue(result.getStereotypes().isEmpty());
+        assertTrue(result.getAssociations().isEmpty());
+        assertFalse(result.getConnectors().isEmpty());
+        assertTrue(result.getComponents().stream().allMatch(c -> c.getType() == ComponentType.UNSPECIFIED));
+        assertTrue(result.getConnectors().stream().allMatch(c -> c.getStereotypes().isEmpty()));
+    }
+
+    @Test
+    void parseAllReturnsResultsInOrderOfInputs() throws Exception {
+        final List<File> inputs = List.of(getInput("simple-model/model.xmi"), getInput("simple-model.graphml"),
+                                          getInput("simple-model.zip"), getInput("simple-model_EA.xml"));
+        final List<ParsingResult> result = ControlStructureParsers.parseAll(inputs, 2);
+        assertEquals(inputs.size(), result.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals(inputs.get(i), result.get(i).input());
+            assertTrue(result.get(i).isSuccess());
+            assertFalse(result.get(i).model().getConnectors().isEmpty());
+        }
+    }
+
+    @Test
+    void parseAllReportsFailuresWithoutAbortingOtherFiles() throws Exception {
+        final List<File> inputs = List.of(getInput("invalid-model.xml"), getInput("simple-model.graphml"),
+                                          new File("unknown.txt"));
+        final List<ParsingResult> result = ControlStructureParsers.parseAll(inputs, 1);
+        assertFalse(result.get(0).isSuccess());
+        assertInstanceOf(ControlStructureParserException.class, result.get(0).error());
+        assertTrue(result.get(1).isSuccess());
+        assertFalse(result.get(2).isSuccess());
+        assertThrows(ControlStructureParserException.class, () -> result.get(2).getModelOrThrow());
+    }
+
+    @Test
+    void parseAllPassesResultForEveryInputPathToConsumer() throws Exception {
+        final Set<Path> inputs = Set.of(getInput("simple-model/model.xmi").toPath(),
+                                        getInput("simple-model.graphml").toPath(),
+                                        getInput("model-with-subgraphs-yed-live.graphml").toPath());
+        final List<ParsingResult> results = new ArrayList<>();
+        ControlStructureParsers.parseAll(inputs.stream(), 3, results::add);
+        assertEquals(inputs, results.stream().map(r -> r.input().toPath()).collect(Collectors.toSet()));
+        assertTrue(results.stream().allMatch(ParsingResult::isSuccess));
+    }
+
+    @Test
+    void parseAllThrowsIllegalArgumentExceptionForNonPositiveParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> ControlStructureParsers.parseAll(Stream.empty(), 0, r -> {
+        }));
+    }
+
+    @Test
+    void parseSafelyReportsErrorAsFailedResult() {
+        final File input = new File("model.xml");
+        final LinkageError error = new LinkageError("Missing class");
+        final ParsingResult result = ControlStructureParsers.parseSafely(input, f -> {
+            throw error;
+        });
+        assertFalse(result.isSuccess());
+        assertSame(error, result.error().getCause());
+        assertThrows(ControlStructureParserException.class, result::getModelOrThrow);
+    }
+
+    @Test
+    void parseSafelyRethrowsVirtualMachineError() {
+        assertThrows(OutOfMemoryError.class, () -> ControlStructureParsers.parseSafely(new File("model.xml"), f -> {
+            throw new OutOfMemoryError();
+        }));
+    }
+
+    private static File getInput(String name) throws URISyntaxException {
+        return new File(ControlStructureParsersTest.class.getClassLoader().getResource(name).toURI());
+    }
+}
@@ -0,0 +1,68 @@
+package com.akaene.stpa.scs.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InputFormatDetectorTest {
+
+    @ParameterizedTest
+    @MethodSource("sampleFiles")
+    void detectRecognizesFormatOfFile(String file, InputFormat expected) throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource(file).toURI());
+        final InputDescriptor result = InputFormatDetector.detect(input);
+        assertEquals(input, result.file());
+        assertEquals(expected, result.format());
+    }
+
+    static Stream<Arguments> sampleFiles() {
+        return Stream.of(
+                Arguments.of("simple-model/model.xmi", InputFormat.XMI),
+                Arguments.of("simple-model-uml/model.uml", InputFormat.XMI),
+                Arguments.of("simple-model.zip", InputFormat.ZIP),
+                Arguments.of("simple-model_EA.xml", InputFormat.ENTERPRISE_ARCHITECT_XMI),
+                Arguments.of("complex-model_EA.xml", InputFormat.ENTERPRISE_ARCHITECT_XMI),
+                Arguments.of("simple-model.graphml", InputFormat.GRAPHML),
+                Arguments.of("model-with-subgraphs-yed-live.graphml", InputFormat.GRAPHML),
+                Arguments.of("invalid-model.xml", InputFormat.XMI)
+        );
+    }
+
+    @Test
+    void detectReadsOnlyBoundedPrefixOfContent() throws Exception {
+        final byte[] header = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <xmi:XMI xmlns:xmi="http://www.omg.org/spec/XMI/20131001">
+                """.getBytes(StandardCharsets.UTF_8);
+        final byte[] content = new byte[InputFormatDetector.PREFIX_SIZE * 4];
+        System.arraycopy(header, 0, content, 0, header.length);
+        final InputStream in = new ByteArrayInputStream(content);
+        assertEquals(InputFormat.XMI, InputFormatDetector.detect(in, "model.xmi"));
+        assertEquals(content.length - InputFormatDetector.PREFIX_SIZE, in.available());
+    }
+
+    @Test
+    void detectUsesExtensionWhenContentIsNotRecognized(@TempDir Path tempDir) throws Exception {
+        final Path graphml = Files.writeString(tempDir.resolve("model.graphml"), "not xml");
+        final Path text = Files.writeString(tempDir.resolve("model.txt"), "<root/>");
+        assertEquals(InputFormat.GRAPHML, InputFormatDetector.detect(graphml.toFile()).format());
+        assertEquals(InputFormat.UNKNOWN, InputFormatDetector.detect(text.toFile()).format());
+    }
+
+    @Test
+    void detectReturnsUnknownForNonExistentFile() {
+        assertEquals(InputFormat.UNKNOWN, InputFormatDetector.detect(new File("nonexistent.xmi")).format());
+    }
+}
@@ -5,14 +5,18 @@ import com.akaene.stpa.scs.model.Connector;
 import com.akaene.stpa.scs.model.DiagramNode;
 import com.akaene.stpa.scs.model.Model;
 import com.akaene.stpa.scs.model.Stereotype;
+import com.akaene.stpa.scs.parser.ModelPart;
+import com.akaene.stpa.scs.parser.ParseOptions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.File;
 import java.net.URISyntaxException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -25,6 +29,19 @@ class GraphMLParserTest {
 
     private final GraphMLParser sut = new GraphMLParser();
 
+    @ParameterizedTest
+    @ValueSource(strings = {"simple-model.graphml", "simple-model-yed-live.graphml"})
+    void parseWithoutGeometryAndConnectorsReadsOnlyComponents(String file) throws Exception {
+        final Model full = sut.parse(getInput(file));
+        final Model result = new GraphMLParser(ParseOptions.all().without(ModelPart.DIAGRAM_GEOMETRY,
+                                                                          ModelPart.CONNECTORS)).parse(getInput(file));
+
+        assertEquals(full.getComponents().size(), result.getComponents().size());
+        assertTrue(result.getComponents().stream().allMatch(c -> c.getDiagramNode().isEmpty()));
+        assertTrue(result.getConnectors().isEmpty());
+        assertEquals(Set.copyOf(full.getStereotypes()), Set.copyOf(result.getStereotypes()));
+    }
+
     @ParameterizedTest
     @MethodSource("sampleFileTypes")
     void supportsReturnsTrueForSupportedFiles(String file, boolean supports) throws Exception {
@@ -108,6 +125,21 @@ class GraphMLParserTest {
         assertEquals(47, flightNode.getHeight());
     }
 
+    @Test
+    void parseExtractsNodePositionAndSizeInformationFromYedLiveOutput() throws Exception {
+        final File input = getInput("simple-model-yed-live.graphml");
+        final Model result = sut.parse(input);
+        final Optional<Component> source = result.getComponents().stream()
+                                                 .filter(c -> c.getName().equals("Source with ports")).findAny();
+        assertTrue(source.isPresent());
+        assertTrue(source.get().getDiagramNode().isPresent());
+        final DiagramNode sourceNode = source.get().getDiagramNode().get();
+        assertEquals(-117, sourceNode.getX());
+        assertEquals(-337, sourceNode.getY());
+        assertEquals(312, sourceNode.getWidth());
+        assertEquals(60, sourceNode.getHeight());
+    }
+
     /**
      * When diagrams are created using yEd Live (online tool), the nodes have ports through which edges are connected to
      * them.
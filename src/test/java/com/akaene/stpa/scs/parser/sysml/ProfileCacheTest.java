@@ -0,0 +1,163 @@
+package com.akaene.stpa.scs.parser.sysml;
+
+import com.akaene.stpa.scs.model.Model;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfileCacheTest {
+
+    @Test
+    void getReturnsSameResourceForProfilesWithSameNameAndContentAtDifferentLocations(@TempDir Path tempDir)
+            throws Exception {
+        final Path original = Path.of(getClass().getClassLoader().getResource("simple-model/LocalProfile.profile.xmi")
+                                              .toURI());
+        final Path copy = Files.copy(original, Files.createDirectory(tempDir.resolve("copy"))
+                                                    .resolve(original.getFileName()));
+        final ProfileCache sut = new ProfileCache(4);
+        final Resource first = sut.get(URI.createFileURI(original.toString()), URIConverter.INSTANCE);
+        final Resource second = sut.get(URI.createFileURI(copy.toString()), URIConverter.INSTANCE);
+        assertSame(first, second);
+        assertEquals(1, sut.size());
+        assertFalse(first.getContents().isEmpty());
+    }
+
+    @Test
+    void getLoadsProfileAgainWhenContentDiffers(@TempDir Path tempDir) throws Exception {
+        final Path original = Path.of(getClass().getClassLoader().getResource("simple-model/LocalProfile.profile.xmi")
+                                              .toURI());
+        final Path modified = Files.createDirectory(tempDir.resolve("modified")).resolve(original.getFileName());
+        Files.writeString(modified, Files.readString(original).replace("LocalProfile", "ModifiedProfile"));
+        final ProfileCache sut = new ProfileCache(4);
+        final Resource first = sut.get(URI.createFileURI(original.toString()), URIConverter.INSTANCE);
+        final Resource second = sut.get(URI.createFileURI(modified.toString()), URIConverter.INSTANCE);
+        assertNotSame(first, second);
+        assertEquals(2, sut.size());
+    }
+
+    @Test
+    void getEvictsLeastRecentlyUsedProfileWhenMaxSizeIsExceeded() throws Exception {
+        final URI local = URI.createFileURI(
+                new File(getClass().getClassLoader().getResource("simple-model/LocalProfile.profile.xmi").toURI())
+                        .getAbsolutePath());
+        final URI localUml = URI.createFileURI(
+                new File(getClass().getClassLoader().getResource("simple-model-uml/LocalProfile.profile.uml").toURI())
+                        .getAbsolutePath());
+        final ProfileCache sut = new ProfileCache(1);
+        final Resource first = sut.get(local, URIConverter.INSTANCE);
+        sut.get(localUml, URIConverter.INSTANCE);
+        assertEquals(1, sut.size());
+        assertNotSame(first, sut.get(local, URIConverter.INSTANCE));
+    }
+
+    @Test
+    void parsingModelsWithSameProfilesReusesCachedProfiles() throws Exception {
+        ProfileCache.getInstance().clear();
+        final File xmi = new File(getClass().getClassLoader().getResource("simple-model/model.xmi").toURI());
+        final File zip = new File(getClass().getClassLoader().getResource("simple-model.zip").toURI());
+        final SysMLXMIParser parser = new SysMLXMIParser();
+        final Model first = parser.parse(xmi);
+        assertEquals(2, ProfileCache.getInstance().size());
+        final Model second = parser.parse(zip);
+        assertEquals(2, ProfileCache.getInstance().size());
+        assertEquals(first.toString(), second.toString());
+        assertTrue(second.getStereotype("ControlAction").isPresent());
+    }
+
+    @Test
+    void getDoesNotReadProfileAgainWhenItsLocationIsUnchanged(@TempDir Path tempDir) throws Exception {
+        final Path original = Path.of(getClass().getClassLoader().getResource("simple-model/LocalProfile.profile.xmi")
+                                              .toURI());
+        final Path profile = Files.copy(original, tempDir.resolve(original.getFileName()));
+        final AtomicInteger reads = new AtomicInteger();
+        final URIConverter converter = new ExtensibleURIConverterImpl() {
+            @Override
+            public InputStream createInputStream(URI uri, Map<?, ?> options) throws IOException {
+                reads.incrementAndGet();
+                return super.createInputStream(uri, options);
+            }
+        };
+        final ProfileCache sut = new ProfileCache(4);
+        final URI location = URI.createFileURI(profile.toString());
+        final Resource first = sut.get(location, converter);
+        assertSame(first, sut.get(location, converter));
+        assertEquals(1, reads.get());
+
+        Files.writeString(profile, Files.readString(original).replace("LocalProfile", "ModifiedProfile"));
+        assertNotSame(first, sut.get(location, converter));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void concurrentParsingOfModelsSharingProfileProducesSameModelsAsSequentialParsing() throws Exception {
+        final List<File> inputs = Stream.of("simple-model/model.xmi", "complex-model/model.xmi").map(f -> {
+            try {
+                return new File(getClass().getClassLoader().getResource(f).toURI());
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+        final SysMLXMIParser parser = new SysMLXMIParser();
+        final List<String> expected = new ArrayList<>();
+        for (File input : inputs) {
+            expected.add(parser.parse(input).toString());
+        }
+        final int threads = 8;
+        for (int round = 0; round < 5; round++) {
+            // Start with an empty cache, so that the shared profiles are first used concurrently
+            ProfileCache.getInstance().clear();
+            final CyclicBarrier barrier = new CyclicBarrier(threads);
+            final List<Future<String>> results = new ArrayList<>();
+            try (final ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                for (int i = 0; i < threads; i++) {
+                    final File input = inputs.get(i % inputs.size());
+                    results.add(executor.submit(() -> {
+                        barrier.await();
+                        return parser.parse(input).toString();
+                    }));
+                }
+                for (int i = 0; i < threads; i++) {
+                    assertEquals(expected.get(i % inputs.size()), results.get(i).get());
+                }
+            }
+        }
+    }
+
+    @Test
+    void isProfileRecognizesProfileFiles() {
+        assertTrue(ProfileCache.isProfile(URI.createURI("archive:file:/models/a.zip!/sysml.profile.xmi")));
+        assertTrue(ProfileCache.isProfile(URI.createFileURI("/models/LocalProfile.profile.uml")));
+        assertFalse(ProfileCache.isProfile(URI.createFileURI("/models/model.xmi")));
+    }
+
+    @Test
+    void constructorThrowsIllegalArgumentExceptionForNonPositiveMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ProfileCache(0));
+    }
+}
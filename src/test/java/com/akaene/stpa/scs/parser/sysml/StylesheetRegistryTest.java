@@ -0,0 +1,56 @@
+package com.akaene.stpa.scs.parser.sysml;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StylesheetRegistryTest {
+
+    private static final String STYLESHEET = """
+            <xsl:stylesheet version="1.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">
+                <xsl:output method="text"/>
+                <xsl:template match="/">transformed</xsl:template>
+            </xsl:stylesheet>
+            """;
+
+    @Test
+    void enterpriseArchitectStylesheetIsRegisteredByDefault() {
+        assertTrue(StylesheetRegistry.isRegistered(StylesheetRegistry.ENTERPRISE_ARCHITECT));
+    }
+
+    @Test
+    void getTemplatesReturnsSameCompiledStylesheetForRepeatedCalls() {
+        final Templates first = StylesheetRegistry.getTemplates(StylesheetRegistry.ENTERPRISE_ARCHITECT);
+        assertSame(first, StylesheetRegistry.getTemplates(StylesheetRegistry.ENTERPRISE_ARCHITECT));
+    }
+
+    @Test
+    void registerAllowsUsingCustomStylesheet() throws Exception {
+        StylesheetRegistry.register("test", new StreamSource(new StringReader(STYLESHEET)));
+        final StringWriter out = new StringWriter();
+        StylesheetRegistry.newTransformer("test")
+                          .transform(new StreamSource(new StringReader("<root/>")), new StreamResult(out));
+        assertEquals("transformed", out.toString());
+    }
+
+    @Test
+    void registerThrowsControlStructureParserExceptionForInvalidStylesheet() {
+        assertThrows(ControlStructureParserException.class,
+                     () -> StylesheetRegistry.register("invalid", new StreamSource(new StringReader("<invalid/>"))));
+    }
+
+    @Test
+    void getTemplatesThrowsIllegalArgumentExceptionForUnknownStylesheet() {
+        assertThrows(IllegalArgumentException.class, () -> StylesheetRegistry.getTemplates("unknown"));
+    }
+}
@@ -1,6 +1,8 @@
 package com.akaene.stpa.scs.parser.sysml;
 
 import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.model.Association;
+import com.akaene.stpa.scs.model.ComponentType;
 import com.akaene.stpa.scs.model.Connector;
 import com.akaene.stpa.scs.model.Model;
 import com.akaene.stpa.scs.model.Stereotype;
@@ -8,9 +10,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -19,7 +27,9 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -97,7 +107,7 @@ public class SysMLXMIParserTest {
     }
 
     @Test
-    void parseZipArchiveExtractsArchiveIntoTemporaryFolderAndThenParsesModelFileInIt() throws Exception {
+    void parseZipArchiveParsesModelFileInIt() throws Exception {
         final File input = new File(getClass().getClassLoader().getResource("simple-model.zip").toURI());
         final com.akaene.stpa.scs.model.Model result = sut.parse(input);
         assertNotNull(result);
@@ -173,6 +183,50 @@ public class SysMLXMIParserTest {
         assertFalse(result.getAssociations().isEmpty());
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"complex-model/model.xmi", "complex-model_EA.xml", "simple-model.zip"})
+    void parseInParallelModeProducesSameModelAsSequentialMode(String file) throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource(file).toURI());
+        final Model expected = sut.parse(input);
+        final Model result = new SysMLXMIParser(true).parse(input);
+        assertEquals(expected.toString(), result.toString());
+        assertEquals(new HashSet<>(expected.getComponents()), new HashSet<>(result.getComponents()));
+    }
+
+    @Test
+    void parseResolvesClassesWithSameNameInDifferentPackages() throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource("same-name-classes/model.uml").toURI());
+        final Model result = sut.parse(input);
+        assertEquals(5, result.getClasses().size());
+        final ComponentType hardwareSensor =
+                result.getClassByQualifiedName("same_name_classes::Hardware::Sensor").orElseThrow();
+        final ComponentType softwareSensor =
+                result.getClassByQualifiedName("same_name_classes::Software::Sensor").orElseThrow();
+        assertNotEquals(hardwareSensor, softwareSensor);
+        assertEquals(List.of(result.getClassByQualifiedName("same_name_classes::Hardware::Device").orElseThrow()),
+                     hardwareSensor.getSuperTypes());
+        assertEquals(List.of(result.getClassByQualifiedName("same_name_classes::Software::Device").orElseThrow()),
+                     softwareSensor.getSuperTypes());
+        final Connector calibration = result.getConnectors().iterator().next();
+        assertSame(softwareSensor, calibration.getSource().type().getType());
+        assertSame(hardwareSensor, calibration.getTarget().type().getType());
+        final Map<String, ComponentType> partTypes = result.getClass("System").orElseThrow().getAttributes().stream()
+                                                           .collect(Collectors.toMap(a -> a.getTarget().role(),
+                                                                                     a -> a.getTarget().type()));
+        assertSame(hardwareSensor, partTypes.get("physical"));
+        assertSame(softwareSensor, partTypes.get("virtual"));
+    }
+
+    @Test
+    void parseExtractsAllUnnamedAssociations() throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource("unnamed-associations/model.uml").toURI());
+        final Model result = sut.parse(input);
+        assertEquals(Set.of("unnamed_associations::Primary::Controller::process",
+                            "unnamed_associations::Backup::Controller::process"),
+                     result.getAssociations().stream().map(Association::getQualifiedName)
+                           .collect(Collectors.toSet()));
+    }
+
     @ParameterizedTest
     @MethodSource("sampleFileTypes")
     void supportsReturnsTrueForSupportedFiles(String file, boolean supports) throws Exception {
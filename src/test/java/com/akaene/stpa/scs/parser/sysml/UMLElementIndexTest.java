@@ -0,0 +1,40 @@
+package com.akaene.stpa.scs.parser.sysml;
+
+import org.eclipse.uml2.uml.Association;
+import org.eclipse.uml2.uml.Class;
+import org.eclipse.uml2.uml.Connector;
+import org.eclipse.uml2.uml.Element;
+import org.eclipse.uml2.uml.Model;
+import org.eclipse.uml2.uml.Port;
+import org.eclipse.uml2.uml.resource.XMI2UMLResource;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class UMLElementIndexTest {
+
+    @Test
+    void buildIndexesElementsInTheSameOrderAsAllOwnedElements() throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource("complex-model/model.xmi").toURI());
+        final XMI2UMLResource resource = new EMFSysMLXMIParser().parseAsResource(input);
+        final Model model = resource.getContents().stream().filter(Model.class::isInstance).map(Model.class::cast)
+                                    .findFirst().orElseThrow();
+        final List<Element> allOwned = model.allOwnedElements();
+
+        final UMLElementIndex result = UMLElementIndex.build(model);
+        assertFalse(result.getClasses().isEmpty());
+        assertEquals(filter(allOwned, Class.class), result.getClasses());
+        assertEquals(filter(allOwned, Connector.class), result.getConnectors());
+        assertEquals(filter(allOwned, Association.class), result.getAssociations());
+        assertEquals(filter(allOwned, Port.class), result.getPorts());
+        result.getProperties().forEach(p -> assertFalse(p instanceof Port));
+    }
+
+    private static <T> List<T> filter(List<Element> elements, java.lang.Class<T> type) {
+        return elements.stream().filter(type::isInstance).map(type::cast).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.akaene.stpa.scs.parser.sysml;
+
+import com.akaene.stpa.scs.exception.ControlStructureParserException;
+import com.akaene.stpa.scs.model.Model;
+import com.akaene.stpa.scs.parser.ControlStructureParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UnzippingSysMLXMIParserTest {
+
+    @Test
+    void parseInMemoryReadsModelAndProfilesDirectlyFromArchiveWithoutTemporaryDirectory() throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource("simple-model.zip").toURI());
+        final Set<Path> tempDirsBefore = tempDirectories();
+        final Model result = new UnzippingSysMLXMIParser(new SysMLXMIParser()::parse).parse(input);
+        assertEquals(tempDirsBefore, tempDirectories());
+        SysMLXMIParserTest.verifyConnectorsInSimpleModel(result);
+        assertTrue(result.getStereotype("ControlAction").isPresent());
+    }
+
+    private static Set<Path> tempDirectories() throws IOException {
+        try (final Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(p -> p.getFileName().toString().startsWith("sysml-xmi-parser"))
+                        .collect(Collectors.toSet());
+        }
+    }
+
+    @Test
+    void parseInMemorySupportsArchivedEnterpriseArchitectModel(@TempDir Path tempDir) throws Exception {
+        final Path archive = tempDir.resolve("ea model.zip");
+        try (final ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(archive));
+             final InputStream in = getClass().getClassLoader().getResourceAsStream("simple-model_EA.xml")) {
+            out.putNextEntry(new ZipEntry("simple model_EA.xml"));
+            in.transferTo(out);
+            out.closeEntry();
+        }
+        final Model result = new UnzippingSysMLXMIParser(new SysMLXMIParser()::parse).parse(archive.toFile());
+        SysMLXMIParserTest.verifyConnectorsInSimpleModel(result);
+    }
+
+    @Test
+    void parseExtractingArchiveRemovesTemporaryDirectoryWhenParsingFails() throws Exception {
+        final File input = new File(getClass().getClassLoader().getResource("simple-model.zip").toURI());
+        final Path[] modelFile = new Path[1];
+        final ControlStructureParser failing = new ControlStructureParser() {
+            @Override
+            public Model parse(File input) {
+                modelFile[0] = input.toPath();
+                throw new ControlStructureParserException("Failure");
+            }
+
+            @Override
+            public boolean supports(File input) {
+                return true;
+            }
+        };
+        assertThrows(ControlStructureParserException.class, () -> new UnzippingSysMLXMIParser(failing).parse(input));
+        assertFalse(Files.exists(modelFile[0].getParent()));
+    }
+}
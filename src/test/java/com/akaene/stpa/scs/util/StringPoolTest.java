@@ -0,0 +1,25 @@
+package com.akaene.stpa.scs.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StringPoolTest {
+
+    @Test
+    void internReturnsFirstInstanceForEqualStrings() {
+        final StringPool sut = new StringPool();
+        final String first = new String("Model::Package::Block");
+        final String second = new String("Model::Package::Block");
+        assertSame(first, sut.intern(first));
+        assertSame(first, sut.intern(second));
+        assertEquals(1, sut.size());
+    }
+
+    @Test
+    void internReturnsNullForNull() {
+        assertNull(new StringPool().intern(null));
+    }
+}
@@ -0,0 +1,113 @@
+package com.akaene.stpa.scs.watch;
+
+import com.akaene.stpa.scs.parser.ParsingResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelDirectoryWatcherTest {
+
+    private static final long TIMEOUT_SECONDS = 20;
+
+    private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+
+    private final ModelChangeListener listener = new ModelChangeListener() {
+        @Override
+        public void modelUpdated(ParsingResult result) {
+            events.add(result);
+        }
+
+        @Override
+        public void modelRemoved(Path file) {
+            events.add(file);
+        }
+    };
+
+    @Test
+    void startParsesExistingFilesAndIgnoresUnsupportedFiles(@TempDir Path dir) throws Exception {
+        final Path model = copy("simple-model.graphml", dir.resolve("model.graphml"));
+        Files.writeString(dir.resolve("notes.txt"), "Not a model");
+        try (final ModelDirectoryWatcher sut = new ModelDirectoryWatcher(dir, Duration.ofMillis(50), 2)) {
+            sut.addListener(listener);
+            sut.start();
+
+            final ParsingResult result = nextResult();
+            assertEquals(model.toFile(), result.input());
+            assertTrue(result.isSuccess());
+            assertTrue(result.getModelOrThrow().isFrozen());
+            assertNull(events.poll(500, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    void modifiedFileIsReparsedOnceAfterBurstOfWrites(@TempDir Path dir) throws Exception {
+        final Path model = copy("simple-model.graphml", dir.resolve("model.graphml"));
+        try (final ModelDirectoryWatcher sut = new ModelDirectoryWatcher(dir, Duration.ofMillis(300), 2)) {
+            sut.addListener(listener);
+            sut.start();
+            final int originalSize = nextResult().getModelOrThrow().getComponents().size();
+
+            copy("simple-model-yed-live.graphml", model);
+            copy("model-with-subgraphs-yed-desktop.graphml", model);
+            final ParsingResult result = nextResult();
+            assertTrue(result.isSuccess());
+            assertFalse(originalSize == result.getModelOrThrow().getComponents().size());
+            assertNull(events.poll(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void filesInNewSubdirectoriesAreParsedAndDeletedFilesReported(@TempDir Path dir) throws Exception {
+        try (final ModelDirectoryWatcher sut = new ModelDirectoryWatcher(dir, Duration.ofMillis(50), 2)) {
+            sut.addListener(listener);
+            sut.start();
+            final Path subdirectory = Files.createDirectory(dir.resolve("subsystem"));
+            // Give the watcher a chance to register the new directory before the file appears in it
+            Thread.sleep(200);
+            final Path model = copy("simple-model.graphml", subdirectory.resolve("model.graphml"));
+
+            assertEquals(model.toFile(), nextResult().input());
+            Files.delete(model);
+            assertEquals(model, events.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void invalidFileIsReportedAsFailure(@TempDir Path dir) throws Exception {
+        copy("invalid-model.xml", dir.resolve("invalid-model.xml"));
+        try (final ModelDirectoryWatcher sut = new ModelDirectoryWatcher(dir, Duration.ofMillis(50), 1)) {
+            sut.addListener(listener);
+            sut.start();
+
+            final ParsingResult result = nextResult();
+            assertFalse(result.isSuccess());
+            assertNotNull(result.error());
+        }
+    }
+
+    private ParsingResult nextResult() throws InterruptedException {
+        final Object event = events.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(event, "No model has been published.");
+        return (ParsingResult) event;
+    }
+
+    private Path copy(String resource, Path target) throws Exception {
+        try (final var in = getClass().getClassLoader().getResourceAsStream(resource)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+}